@@ -0,0 +1,77 @@
+package org.jprelude.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.jprelude.core.util.Seq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Chain of map, filter, peek, skip and take on a sequential sequence:
+ * the fused Seq pipeline against one Seq.from(() -> ...) layer per
+ * operator (the former implementation) and against plain streams.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FusionBenchmark {
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private Integer[] values;
+
+    @Setup
+    public void setup() {
+        this.values = IntStream.range(0, this.size).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public long fusedSeq() {
+        return Seq.from(this.values)
+                .map(n -> n * 3)
+                .filter(n -> (n & 1) == 0)
+                .peek(n -> { })
+                .map(n -> n + 1)
+                .skip(10)
+                .take(this.size / 2)
+                .count();
+    }
+
+    @Benchmark
+    public long layeredSeq() {
+        final Seq<Integer> source = Seq.from(this.values);
+        final Seq<Integer> mapped = Seq.from(() -> source.stream().map(n -> n * 3));
+        final Seq<Integer> filtered = Seq.from(() -> mapped.stream().filter(n -> (n & 1) == 0));
+        final Seq<Integer> peeked = Seq.from(() -> filtered.stream().peek(n -> { }));
+        final Seq<Integer> remapped = Seq.from(() -> peeked.stream().map(n -> n + 1));
+        final Seq<Integer> skipped = Seq.from(() -> remapped.stream().skip(10));
+        final Seq<Integer> taken = Seq.from(() -> skipped.stream().limit(this.size / 2));
+
+        return taken.count();
+    }
+
+    @Benchmark
+    public long stream() {
+        return Stream.of(this.values)
+                .map(n -> n * 3)
+                .filter(n -> (n & 1) == 0)
+                .peek(n -> { })
+                .map(n -> n + 1)
+                .skip(10)
+                .limit(this.size / 2)
+                .count();
+    }
+}
@@ -0,0 +1,154 @@
+package org.jprelude.benchmarks;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.jprelude.core.util.Seq;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Seq operators against the equivalent hand-written java.util.stream
+ * code. Each operator has a pair of benchmarks named [operator]Seq and
+ * [operator]Stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeqBenchmark {
+    @Param({"100000"})
+    private int size;
+
+    private Integer[] values;
+    private Integer[] otherValues;
+    private List<Integer> list;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        this.values = IntStream.range(0, this.size).map(n -> random.nextInt(this.size)).boxed().toArray(Integer[]::new);
+        this.otherValues = IntStream.range(0, this.size).boxed().toArray(Integer[]::new);
+        this.list = Stream.of(this.values).collect(Collectors.toList());
+    }
+
+    // map((value, index) -> ...)
+
+    @Benchmark
+    public void indexedMapSeq(final Blackhole blackhole) {
+        Seq.from(this.values).map((value, index) -> value + index).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void indexedMapStream(final Blackhole blackhole) {
+        IntStream.range(0, this.values.length).mapToObj(i -> this.values[i] + (long) i).forEach(blackhole::consume);
+    }
+
+    // zip
+
+    @Benchmark
+    public void zipSeq(final Blackhole blackhole) {
+        Seq.from(this.values).zip(Seq.from(this.otherValues), (a, b) -> a + b).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void zipStream(final Blackhole blackhole) {
+        IntStream.range(0, this.values.length).mapToObj(i -> this.values[i] + this.otherValues[i]).forEach(blackhole::consume);
+    }
+
+    // distinct(f)
+
+    @Benchmark
+    public void distinctBySeq(final Blackhole blackhole) {
+        Seq.from(this.values).distinct(value -> value % 1000).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void distinctByStream(final Blackhole blackhole) {
+        final Set<Integer> keys = new HashSet<>();
+
+        Stream.of(this.values).filter(value -> keys.add(value % 1000)).forEach(blackhole::consume);
+    }
+
+    // sortedAsc(f)
+
+    @Benchmark
+    public void sortedAscSeq(final Blackhole blackhole) {
+        Seq.from(this.values).sortedAsc(value -> value / 3).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void sortedAscStream(final Blackhole blackhole) {
+        Stream.of(this.values).sorted(Comparator.comparing(value -> value / 3)).forEach(blackhole::consume);
+    }
+
+    // force
+
+    @Benchmark
+    public long forceSeq() {
+        return Seq.from(this.list).map(value -> value + 1).force().count();
+    }
+
+    @Benchmark
+    public long forceStream() {
+        return this.list.stream().map(value -> value + 1).collect(Collectors.toList()).size();
+    }
+
+    // concat
+
+    @Benchmark
+    public void concatSeq(final Blackhole blackhole) {
+        Seq.concat(Seq.from(this.values), Seq.from(this.otherValues)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void concatStream(final Blackhole blackhole) {
+        Stream.concat(Stream.of(this.values), Stream.of(this.otherValues)).forEach(blackhole::consume);
+    }
+
+    // flatMap
+
+    @Benchmark
+    public void flatMapSeq(final Blackhole blackhole) {
+        Seq.from(this.values).flatMap(value -> Seq.of(value, -value)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void flatMapStream(final Blackhole blackhole) {
+        Stream.of(this.values).flatMap(value -> Stream.of(value, -value)).forEach(blackhole::consume);
+    }
+
+    // iterate(seed1, seed2, f)
+
+    @Benchmark
+    public void iterateSeq(final Blackhole blackhole) {
+        Seq.iterate(0L, 1L, (a, b) -> a + b).take(this.size).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void iterateStream(final Blackhole blackhole) {
+        Stream.iterate(new long[] { 0, 1 }, pair -> new long[] { pair[1], pair[0] + pair[1] })
+                .map(pair -> pair[0])
+                .limit(this.size)
+                .forEach(blackhole::consume);
+    }
+}
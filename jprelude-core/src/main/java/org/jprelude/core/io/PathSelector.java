@@ -341,7 +341,15 @@ public interface PathSelector {
                                 ret = Stream.empty();
                             } else {
                                 final DirectoryStream<Path> dirStream = Files.newDirectoryStream(path, file -> true);
-                                ret = StreamSupport.stream(dirStream.spliterator(), false);
+
+                                ret = StreamSupport.stream(dirStream.spliterator(), false)
+                                        .onClose(() -> {
+                                            try {
+                                                dirStream.close();
+                                            } catch (final IOException e) {
+                                                throw new UncheckedIOException(e);
+                                            }
+                                        });
                             }                            
                         } catch (final SecurityException e) {
                             if (!isRoot && Builder.this.excludeUnreadableDirectoriesFromRecursion) {
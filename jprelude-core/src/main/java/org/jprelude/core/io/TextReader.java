@@ -5,7 +5,6 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
@@ -14,12 +13,7 @@ import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.util.Iterator;
-import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Spliterator;
-import java.util.Spliterators;
-import java.util.stream.StreamSupport;
 import org.jprelude.core.util.Seq;
 import org.jprelude.core.util.function.CheckedSupplier;
 
@@ -46,70 +40,10 @@ public interface TextReader {
     }
 
     default Seq<String> readLines() {
-        return Seq.from(() -> {
-            final BufferedReader bufferedReader;
-
-            try {
-                final InputStream inputStream = this.newInputStream();
-                
-                bufferedReader = new BufferedReader(new InputStreamReader(
-                        inputStream, this.getCharset()));
-            } catch (final IOException e) {
-                throw new UncheckedIOException(e);
-            } catch (final RuntimeException e) {
-                throw (RuntimeException) e;
-            } catch (final Throwable e) {
-                throw  new RuntimeException(e);
-            }
-
-            final Iterator<String> iter = new Iterator<String>() {
-                private String nextLine = null;
-
-                @Override
-                public boolean hasNext() {
-                    if (this.nextLine != null) {
-                        return true;
-                    } else {
-                        boolean ret = false;
-
-                        try {
-                            this.nextLine = bufferedReader.readLine();
-                            ret = this.nextLine != null;
-                        } catch (final Throwable throwable) {
-                            try {
-                                bufferedReader.close();
-                            } catch (final IOException e) {
-                                throwable.addSuppressed(e);
-                            }
-                            
-                            if (throwable instanceof IOException) {
-                                throw new UncheckedIOException((IOException) throwable);
-                            } else if (throwable instanceof RuntimeException) {
-                                throw (RuntimeException) throwable;
-                            } else {
-                                throw new RuntimeException(throwable);
-                            }
-                        }
-
-                        return ret;
-                    }
-                }
-
-                @Override
-                public String next() {
-                    if (this.nextLine == null || !this.hasNext()) {
-                        throw new NoSuchElementException();
-                    }
-
-                    final String line = this.nextLine;
-                    this.nextLine = null;
-                    return line;
-                }
-            };
-
-            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
-                    iter, Spliterator.ORDERED | Spliterator.NONNULL), false);
-        });
+        return Seq.using(
+                () -> new BufferedReader(new InputStreamReader(
+                        this.newInputStream(), this.getCharset())),
+                bufferedReader -> () -> bufferedReader.lines());
     }
     
     public static TextReader create(
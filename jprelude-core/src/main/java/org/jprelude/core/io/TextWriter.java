@@ -46,17 +46,22 @@ public interface TextWriter {
                     true,
                     this.getCharset().name())) {
      
-            ret = Seq.sequential(lines)
-                    .peek(line -> {
-                        printStream.print(line);
-                        printStream.print(lineSeparatorValue);
-
-                        if (printStream.checkError()) {
-                            throw new UncheckedIOException(new IOException(
-                                    "Could not write to PrintStream - checkError() returned true"));
-                        }
-                    })
-                    .count();      
+            final long[] lineCount = {0};
+
+            // Not peek(...).count() as count() may skip peek for sized sources
+            Seq.sequential(lines).forEach(line -> {
+                printStream.print(line);
+                printStream.print(lineSeparatorValue);
+
+                if (printStream.checkError()) {
+                    throw new UncheckedIOException(new IOException(
+                            "Could not write to PrintStream - checkError() returned true"));
+                }
+
+                ++lineCount[0];
+            });
+
+            ret = lineCount[0];
         }
         
         return ret;
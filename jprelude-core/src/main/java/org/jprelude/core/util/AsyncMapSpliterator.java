@@ -0,0 +1,156 @@
+package org.jprelude.core.util;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Spliterator that applies a (typically blocking) mapping function
+ * asynchronously. At most maxConcurrency elements are mapped at the same
+ * time, the results are handed out in encounter order. The first failure
+ * of any task is propagated and all outstanding tasks are cancelled. If
+ * no executor is given, the tasks run on a private pool of daemon threads.
+ */
+final class AsyncMapSpliterator<T, R> extends Spliterators.AbstractSpliterator<R>
+        implements CloseableSpliterator<R> {
+
+    private final Spliterator<T> source;
+    private final Function<? super T, ? extends R> f;
+    private final int maxConcurrency;
+    private final Executor executor;
+    private final ExecutorService privateExecutor;
+    private final ArrayDeque<CompletableFuture<R>> pendingResults;
+    private final CompletableFuture<R> failure;
+    private final Consumer<T> submitter;
+    private boolean sourceExhausted;
+
+    AsyncMapSpliterator(
+            final Spliterator<T> source,
+            final Function<? super T, ? extends R> f,
+            final int maxConcurrency,
+            final Executor executor) {
+
+        super(source.estimateSize(), source.characteristics() & (Spliterator.ORDERED | Spliterator.SIZED));
+
+        assert f != null;
+        assert maxConcurrency > 0;
+
+        this.source = source;
+        this.f = f;
+        this.maxConcurrency = maxConcurrency;
+
+        if (executor != null) {
+            this.executor = executor;
+            this.privateExecutor = null;
+        } else {
+            final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                    maxConcurrency, maxConcurrency, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        final Thread thread = new Thread(runnable, "jprelude-async-mapper");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+            // Do not keep the threads alive if the sequence is abandoned unclosed
+            threadPool.allowCoreThreadTimeOut(true);
+            this.privateExecutor = threadPool;
+            this.executor = threadPool;
+        }
+
+        this.pendingResults = new ArrayDeque<>(maxConcurrency);
+        this.failure = new CompletableFuture<>();
+        this.submitter = this::submit;
+        this.sourceExhausted = false;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+        while (!this.sourceExhausted && this.pendingResults.size() < this.maxConcurrency) {
+            this.sourceExhausted = !this.source.tryAdvance(this.submitter);
+        }
+
+        final CompletableFuture<R> result = this.pendingResults.poll();
+        final boolean ret = result != null;
+
+        if (ret) {
+            action.accept(this.await(result));
+        } else {
+            this.close();
+        }
+
+        return ret;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        // All tasks share one window of pending results
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        final long size = this.source.estimateSize();
+
+        return size == Long.MAX_VALUE ? size : size + this.pendingResults.size();
+    }
+
+    @Override
+    public void close() {
+        this.sourceExhausted = true;
+
+        while (!this.pendingResults.isEmpty()) {
+            this.pendingResults.poll().cancel(false);
+        }
+
+        if (this.privateExecutor != null) {
+            this.privateExecutor.shutdown();
+        }
+    }
+
+    private void submit(final T value) {
+        final CompletableFuture<R> result = CompletableFuture.supplyAsync(() -> this.f.apply(value), this.executor);
+
+        result.whenComplete((v, e) -> {
+            if (e != null) {
+                this.failure.completeExceptionally(e);
+            }
+        });
+
+        this.pendingResults.add(result);
+    }
+
+    private R await(final CompletableFuture<R> result) {
+        final R ret;
+
+        try {
+            // Fail fast if any later task fails before the awaited one completes
+            CompletableFuture.anyOf(result, this.failure).join();
+            ret = result.join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause() != null ? e.getCause() : e;
+
+            this.close();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new RuntimeException(cause);
+            }
+        } catch (final RuntimeException e) {
+            this.close();
+            throw e;
+        }
+
+        return ret;
+    }
+}
@@ -0,0 +1,153 @@
+package org.jprelude.core.util;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator that reads blocks ahead of the consumer. Up to readAhead
+ * blocks are requested from the block reader in advance and handed out in
+ * block order. If no executor is given, the blocks are read one after the
+ * other by a private daemon thread.
+ */
+final class BlockSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+    private final BiFunction<Long, Long, Collection<T>> blockReader;
+    private final long blockSize;
+    private final int readAhead;
+    private final Executor executor;
+    private final ExecutorService privateExecutor;
+    private final ArrayDeque<CompletableFuture<Collection<T>>> pendingBlocks;
+    private long nextOffset;
+    private boolean lastBlockRequested;
+    private Iterator<T> currentBlock;
+
+    BlockSpliterator(
+            final BiFunction<Long, Long, Collection<T>> blockReader,
+            final long blockSize,
+            final long start,
+            final int readAhead,
+            final Executor executor) {
+
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+
+        assert blockReader != null;
+        assert blockSize > 0;
+        assert readAhead > 0;
+
+        this.blockReader = blockReader;
+        this.blockSize = blockSize;
+        this.readAhead = readAhead;
+
+        if (executor != null) {
+            this.executor = executor;
+            this.privateExecutor = null;
+        } else {
+            final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(
+                    1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        final Thread thread = new Thread(runnable, "jprelude-block-reader");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+            // Do not keep the thread alive if the sequence is abandoned unclosed
+            threadPool.allowCoreThreadTimeOut(true);
+            this.privateExecutor = threadPool;
+            this.executor = threadPool;
+        }
+
+        this.pendingBlocks = new ArrayDeque<>(readAhead);
+        this.nextOffset = start;
+        this.lastBlockRequested = false;
+        this.currentBlock = null;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        boolean ret = true;
+
+        while (ret && (this.currentBlock == null || !this.currentBlock.hasNext())) {
+            this.requestBlocks();
+
+            if (this.pendingBlocks.isEmpty()) {
+                this.close();
+                ret = false;
+            } else {
+                final Collection<T> block = this.awaitBlock(this.pendingBlocks.poll());
+
+                if (block == null || block.size() < this.blockSize) {
+                    // Blocks that have been requested beyond the end are not needed
+                    this.lastBlockRequested = true;
+                    this.close();
+                }
+
+                this.currentBlock = block == null ? null : block.iterator();
+            }
+        }
+
+        if (ret) {
+            action.accept(this.currentBlock.next());
+        }
+
+        return ret;
+    }
+
+    void close() {
+        this.lastBlockRequested = true;
+
+        while (!this.pendingBlocks.isEmpty()) {
+            this.pendingBlocks.poll().cancel(false);
+        }
+
+        if (this.privateExecutor != null) {
+            this.privateExecutor.shutdown();
+        }
+    }
+
+    private void requestBlocks() {
+        while (!this.lastBlockRequested && this.pendingBlocks.size() < this.readAhead) {
+            final long offset = this.nextOffset;
+
+            this.pendingBlocks.add(CompletableFuture.supplyAsync(
+                    () -> this.blockReader.apply(offset, this.blockSize),
+                    this.executor));
+
+            this.nextOffset += this.blockSize;
+        }
+    }
+
+    private Collection<T> awaitBlock(final CompletableFuture<Collection<T>> future) {
+        final Collection<T> ret;
+
+        try {
+            ret = future.join();
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause() != null ? e.getCause() : e;
+
+            this.close();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new RuntimeException(cause);
+            }
+        } catch (final RuntimeException e) {
+            this.close();
+            throw e;
+        }
+
+        return ret;
+    }
+}
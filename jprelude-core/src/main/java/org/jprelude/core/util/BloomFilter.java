@@ -0,0 +1,65 @@
+package org.jprelude.core.util;
+
+/**
+ * Bloom filter over 64 bit hashes, using double hashing to derive the
+ * bit positions.
+ */
+final class BloomFilter {
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(final long expectedInsertions, final double falsePositiveRate) {
+        assert expectedInsertions > 0;
+        assert falsePositiveRate > 0 && falsePositiveRate < 1;
+
+        final double ln2 = Math.log(2);
+        final long optimalBitCount = (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+
+        final long wordCount = Math.min(
+                Math.max(1, (optimalBitCount + 63) / 64), Integer.MAX_VALUE - 8);
+
+        this.words = new long[(int) wordCount];
+        this.bitCount = wordCount * 64;
+        this.hashCount = (int) Math.max(1, Math.round((double) optimalBitCount / expectedInsertions * ln2));
+    }
+
+    /**
+     * Adds the given hash, returns false if it has (probably) been added
+     * before.
+     */
+    boolean put(final long hash) {
+        final long hash2 = Hashing.mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        boolean ret = false;
+
+        for (int i = 0; i < this.hashCount; ++i) {
+            final long bit = ((hash + i * hash2) & Long.MAX_VALUE) % this.bitCount;
+            final int wordIdx = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+
+            if ((this.words[wordIdx] & mask) == 0) {
+                this.words[wordIdx] |= mask;
+                ret = true;
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Returns false if the given hash has definitely not been added.
+     */
+    boolean mightContain(final long hash) {
+        final long hash2 = Hashing.mix(hash ^ 0x9e3779b97f4a7c15L) | 1;
+        boolean ret = true;
+
+        for (int i = 0; ret && i < this.hashCount; ++i) {
+            final long bit = ((hash + i * hash2) & Long.MAX_VALUE) % this.bitCount;
+
+            ret = (this.words[(int) (bit >>> 6)] & (1L << bit)) != 0;
+        }
+
+        return ret;
+    }
+}
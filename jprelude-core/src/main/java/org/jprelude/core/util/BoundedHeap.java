@@ -0,0 +1,162 @@
+package org.jprelude.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Binary min heap that retains the capacity greatest elements added so
+ * far. Of equal elements the ones added first are retained.
+ */
+final class BoundedHeap<T> {
+    private final int capacity;
+    private final Comparator<? super T> comparator;
+    private Object[] values;
+    private long[] ordinals;
+    private int size;
+    private long nextOrdinal;
+
+    BoundedHeap(final int capacity, final Comparator<? super T> comparator) {
+        assert capacity >= 0;
+        assert comparator != null;
+
+        this.capacity = capacity;
+        this.comparator = comparator;
+        this.values = new Object[Math.min(capacity, 16)];
+        this.ordinals = new long[this.values.length];
+        this.size = 0;
+        this.nextOrdinal = 0;
+    }
+
+    void add(final T value) {
+        final long ordinal = this.nextOrdinal++;
+
+        if (this.size < this.capacity) {
+            if (this.size == this.values.length) {
+                final int newLength = (int) Math.min((long) this.values.length * 2, this.capacity);
+
+                this.values = Arrays.copyOf(this.values, newLength);
+                this.ordinals = Arrays.copyOf(this.ordinals, newLength);
+            }
+
+            this.values[this.size] = value;
+            this.ordinals[this.size] = ordinal;
+            this.siftUp(this.size++);
+        } else if (this.capacity > 0 && this.comparator.compare(value, this.value(0)) > 0) {
+            this.values[0] = value;
+            this.ordinals[0] = ordinal;
+            this.siftDown(0);
+        }
+    }
+
+    /**
+     * Adds the elements of a heap that has been filled with later elements.
+     */
+    void addAll(final BoundedHeap<T> other) {
+        final Integer[] indices = other.indicesByOrdinal();
+
+        for (final int index : indices) {
+            this.add(other.value(index));
+        }
+    }
+
+    /**
+     * Returns the retained elements, greatest first.
+     */
+    List<T> toList() {
+        final Integer[] indices = new Integer[this.size];
+
+        for (int i = 0; i < this.size; ++i) {
+            indices[i] = i;
+        }
+
+        Arrays.sort(indices, (i, j) -> -this.compare(i, j));
+
+        final List<T> ret = new ArrayList<>(this.size);
+
+        for (final int index : indices) {
+            ret.add(this.value(index));
+        }
+
+        return ret;
+    }
+
+    private Integer[] indicesByOrdinal() {
+        final Integer[] ret = new Integer[this.size];
+
+        for (int i = 0; i < this.size; ++i) {
+            ret[i] = i;
+        }
+
+        Arrays.sort(ret, (i, j) -> Long.compare(this.ordinals[i], this.ordinals[j]));
+
+        return ret;
+    }
+
+    /**
+     * Compares two heap entries, an entry that has been added later is
+     * considered to be less than an equal entry added earlier.
+     */
+    private int compare(final int i, final int j) {
+        final int ret = this.comparator.compare(this.value(i), this.value(j));
+
+        return ret != 0 ? ret : Long.compare(this.ordinals[j], this.ordinals[i]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(final int index) {
+        // Only elements of type T are stored in the heap
+        return (T) this.values[index];
+    }
+
+    private void siftUp(final int index) {
+        int i = index;
+
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+
+            if (this.compare(i, parent) >= 0) {
+                break;
+            }
+
+            this.swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(final int index) {
+        int i = index;
+
+        while (true) {
+            final int left = 2 * i + 1;
+            final int right = left + 1;
+            int smallest = i;
+
+            if (left < this.size && this.compare(left, smallest) < 0) {
+                smallest = left;
+            }
+
+            if (right < this.size && this.compare(right, smallest) < 0) {
+                smallest = right;
+            }
+
+            if (smallest == i) {
+                break;
+            }
+
+            this.swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(final int i, final int j) {
+        final Object value = this.values[i];
+        final long ordinal = this.ordinals[i];
+
+        this.values[i] = this.values[j];
+        this.ordinals[i] = this.ordinals[j];
+        this.values[j] = value;
+        this.ordinals[j] = ordinal;
+    }
+}
@@ -0,0 +1,84 @@
+package org.jprelude.core.util;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator that checks a cancellation token before each element. On
+ * cancellation the underlying stream is closed before the cancellation
+ * exception is thrown.
+ */
+final class CancellableSpliterator<T> implements Spliterator<T> {
+    private final Spliterator<T> source;
+    private final CancellationToken token;
+    private final Runnable closeSource;
+
+    CancellableSpliterator(final Spliterator<T> source, final CancellationToken token, final Runnable closeSource) {
+        assert source != null;
+        assert token != null;
+        assert closeSource != null;
+
+        this.source = source;
+        this.token = token;
+        this.closeSource = closeSource;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        this.check();
+
+        return this.source.tryAdvance(action);
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        this.source.forEachRemaining(value -> {
+            this.check();
+            action.accept(value);
+        });
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        final Spliterator<T> prefix = this.source.trySplit();
+
+        return prefix == null
+                ? null
+                : new CancellableSpliterator<>(prefix, this.token, this.closeSource);
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.source.estimateSize();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return this.source.getExactSizeIfKnown();
+    }
+
+    @Override
+    public int characteristics() {
+        return this.source.characteristics();
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return this.source.getComparator();
+    }
+
+    private void check() {
+        if (this.token.isCancelled()) {
+            final SeqCancellationException error = new SeqCancellationException(this.token.getReason());
+
+            try {
+                this.closeSource.run();
+            } catch (final RuntimeException e) {
+                error.addSuppressed(e);
+            }
+
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.jprelude.core.util;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token to cancel the traversal of sequences cooperatively. Cancellable
+ * sequences check the token between two elements, so checking is just
+ * a volatile read.
+ */
+public final class CancellationToken {
+    private volatile boolean cancelled;
+    private volatile String reason;
+    private volatile ScheduledFuture<?> timer;
+
+    private CancellationToken() {
+        this.cancelled = false;
+        this.reason = null;
+        this.timer = null;
+    }
+
+    public static CancellationToken create() {
+        return new CancellationToken();
+    }
+
+    /**
+     * Returns a token that is cancelled automatically after the given
+     * timeout.
+     */
+    public static CancellationToken cancelAfter(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+
+        final CancellationToken ret = new CancellationToken();
+        final String reason = "Deadline of " + timeout + " has been exceeded";
+
+        ret.timer = Timer.INSTANCE.schedule(() -> ret.cancel(reason), timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+        return ret;
+    }
+
+    public void cancel() {
+        this.cancel("Sequence has been cancelled");
+    }
+
+    public void cancel(final String reason) {
+        if (!this.cancelled) {
+            this.reason = reason;
+            this.cancelled = true;
+        }
+
+        this.release();
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    public String getReason() {
+        return this.reason;
+    }
+
+    public void throwIfCancelled() {
+        if (this.cancelled) {
+            throw new SeqCancellationException(this.reason);
+        }
+    }
+
+    /**
+     * Stops the timer of a token with a deadline (if any).
+     */
+    void release() {
+        final ScheduledFuture<?> scheduled = this.timer;
+
+        this.timer = null;
+
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+    }
+
+    private static final class Timer {
+        private static final ScheduledThreadPoolExecutor INSTANCE = Timer.create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            final ScheduledThreadPoolExecutor ret = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "jprelude-deadline-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            ret.setRemoveOnCancelPolicy(true);
+
+            return ret;
+        }
+    }
+}
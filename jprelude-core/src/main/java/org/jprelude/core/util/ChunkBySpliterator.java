@@ -0,0 +1,110 @@
+package org.jprelude.core.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Spliterator that groups the elements of the underlying spliterator into
+ * chunks. A new chunk is started with each element that satisfies the
+ * given predicate. In reuse mode all chunks are read-only views of one
+ * backing array which is overwritten as soon as the next chunk is
+ * requested - not before, so consumers that pull chunks one at a time
+ * (e.g. iterators) still see the current chunk.
+ */
+final class ChunkBySpliterator<T> extends Spliterators.AbstractSpliterator<List<T>>
+        implements Consumer<T> {
+
+    private final Spliterator<T> source;
+    private final Predicate<? super T> startsChunk;
+    private final boolean reuse;
+    private Object[] buffer;
+    private WindowSpliterator.View<T> view;
+    private int count;
+    private boolean clearPending;
+    private boolean hasPending;
+    private T pending;
+
+    ChunkBySpliterator(final Spliterator<T> source, final Predicate<? super T> startsChunk, final boolean reuse) {
+        super(source.estimateSize(), source.characteristics() & Spliterator.ORDERED | Spliterator.NONNULL);
+
+        assert startsChunk != null;
+
+        this.source = source;
+        this.startsChunk = startsChunk;
+        this.reuse = reuse;
+        this.buffer = new Object[16];
+        this.view = null;
+        this.count = 0;
+        this.clearPending = false;
+        this.hasPending = false;
+        this.pending = null;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super List<T>> action) {
+        if (this.clearPending) {
+            Arrays.fill(this.buffer, 0, this.count, null);
+            this.count = 0;
+            this.clearPending = false;
+        }
+
+        if (this.hasPending) {
+            this.add(this.pending);
+            this.hasPending = false;
+            this.pending = null;
+        }
+
+        while (!this.hasPending && this.source.tryAdvance(this)) {
+        }
+
+        final boolean ret = this.count > 0;
+
+        if (ret) {
+            final List<T> chunk;
+
+            if (!this.reuse) {
+                chunk = new WindowSpliterator.View<>(Arrays.copyOf(this.buffer, this.count), this.count);
+            } else {
+                if (this.view == null || !this.view.isViewOf(this.buffer)) {
+                    this.view = new WindowSpliterator.View<>(this.buffer, this.count);
+                }
+
+                this.view.reset(this.count);
+                chunk = this.view;
+            }
+
+            // The shared buffer must not change until the next chunk is requested
+            this.clearPending = true;
+            action.accept(chunk);
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void accept(final T value) {
+        if (this.count > 0 && this.startsChunk.test(value)) {
+            this.pending = value;
+            this.hasPending = true;
+        } else {
+            this.add(value);
+        }
+    }
+
+    @Override
+    public Spliterator<List<T>> trySplit() {
+        return this.reuse ? null : super.trySplit();
+    }
+
+    private void add(final T value) {
+        if (this.count == this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+        }
+
+        this.buffer[this.count++] = value;
+    }
+}
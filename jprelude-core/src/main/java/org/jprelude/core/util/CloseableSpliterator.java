@@ -0,0 +1,12 @@
+package org.jprelude.core.util;
+
+import java.util.Spliterator;
+
+/**
+ * Spliterator that holds resources which have to be released when the
+ * stream built on top of it is closed.
+ */
+interface CloseableSpliterator<T> extends Spliterator<T>, AutoCloseable {
+    @Override
+    void close();
+}
@@ -0,0 +1,163 @@
+package org.jprelude.core.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public interface Codec<T> {
+    void encode(T value, DataOutput out) throws IOException;
+
+    T decode(DataInput in) throws IOException;
+
+    static Codec<String> forString() {
+        return Codec.nullable(new Codec<String>() {
+            @Override
+            public void encode(final String value, final DataOutput out) throws IOException {
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            @Override
+            public String decode(final DataInput in) throws IOException {
+                final byte[] bytes = new byte[in.readInt()];
+
+                in.readFully(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        });
+    }
+
+    static Codec<Integer> forInteger() {
+        return Codec.nullable(new Codec<Integer>() {
+            @Override
+            public void encode(final Integer value, final DataOutput out) throws IOException {
+                out.writeInt(value);
+            }
+
+            @Override
+            public Integer decode(final DataInput in) throws IOException {
+                return in.readInt();
+            }
+        });
+    }
+
+    static Codec<Long> forLong() {
+        return Codec.nullable(new Codec<Long>() {
+            @Override
+            public void encode(final Long value, final DataOutput out) throws IOException {
+                out.writeLong(value);
+            }
+
+            @Override
+            public Long decode(final DataInput in) throws IOException {
+                return in.readLong();
+            }
+        });
+    }
+
+    static Codec<Double> forDouble() {
+        return Codec.nullable(new Codec<Double>() {
+            @Override
+            public void encode(final Double value, final DataOutput out) throws IOException {
+                out.writeDouble(value);
+            }
+
+            @Override
+            public Double decode(final DataInput in) throws IOException {
+                return in.readDouble();
+            }
+        });
+    }
+
+    static <E> Codec<List<E>> forList(final Codec<E> elementCodec) {
+        Objects.requireNonNull(elementCodec);
+
+        return Codec.nullable(new Codec<List<E>>() {
+            @Override
+            public void encode(final List<E> value, final DataOutput out) throws IOException {
+                out.writeInt(value.size());
+
+                for (final E element : value) {
+                    elementCodec.encode(element, out);
+                }
+            }
+
+            @Override
+            public List<E> decode(final DataInput in) throws IOException {
+                final int size = in.readInt();
+                final List<E> ret = new ArrayList<>(size);
+
+                for (int i = 0; i < size; ++i) {
+                    ret.add(elementCodec.decode(in));
+                }
+
+                return ret;
+            }
+        });
+    }
+
+    static <T extends Serializable> Codec<T> forSerializable() {
+        return Codec.nullable(new Codec<T>() {
+            @Override
+            public void encode(final T value, final DataOutput out) throws IOException {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+                try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+                    objectOutputStream.writeObject(value);
+                }
+
+                out.writeInt(bytes.size());
+                out.write(bytes.toByteArray());
+            }
+
+            @Override
+            public T decode(final DataInput in) throws IOException {
+                final byte[] bytes = new byte[in.readInt()];
+
+                in.readFully(bytes);
+
+                try (final ObjectInputStream objectInputStream =
+                        new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+
+                    @SuppressWarnings("unchecked")
+                    final T ret = (T) objectInputStream.readObject();
+
+                    return ret;
+                } catch (final ClassNotFoundException e) {
+                    throw new IOException(e);
+                }
+            }
+        });
+    }
+
+    static <T> Codec<T> nullable(final Codec<T> codec) {
+        Objects.requireNonNull(codec);
+
+        return new Codec<T>() {
+            @Override
+            public void encode(final T value, final DataOutput out) throws IOException {
+                out.writeBoolean(value != null);
+
+                if (value != null) {
+                    codec.encode(value, out);
+                }
+            }
+
+            @Override
+            public T decode(final DataInput in) throws IOException {
+                return in.readBoolean() ? codec.decode(in) : null;
+            }
+        };
+    }
+}
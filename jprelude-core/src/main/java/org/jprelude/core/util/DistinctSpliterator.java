@@ -0,0 +1,416 @@
+package org.jprelude.core.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Spliterator that drops all elements whose key has already been seen.
+ * The key of each element is computed exactly once. If a codec is given,
+ * at most maxKeysInMemory keys are kept on heap - elements with unseen
+ * keys are spilled afterwards to hash partitioned temporary files which
+ * are deduplicated one by one when the source is exhausted. A partition
+ * that has too many keys itself is split the same way by the next bits of
+ * the key hashes, so the memory budget also holds for large inputs.
+ */
+final class DistinctSpliterator<T> extends Spliterators.AbstractSpliterator<T>
+        implements CloseableSpliterator<T> {
+
+    private static final int PARTITION_BITS = 4;
+    private static final int MAX_DEPTH = 64 / PARTITION_BITS;
+
+    private final Function<? super T, ?> f;
+    private final Supplier<KeySet> keySetFactory;
+    private final Codec<T> codec;
+    private final long maxKeysInMemory;
+    private final Deque<Partition<T>> pendingPartitions;
+    private Spliterator<T> input;
+    private Partition<T> inputPartition;
+    private Stream<T> inputStream;
+    private KeySet keys;
+    private List<SpillFile<T>> partitions;
+    private boolean found;
+    private T current;
+
+    DistinctSpliterator(
+            final Spliterator<T> source,
+            final Function<? super T, ?> f,
+            final Supplier<KeySet> keySetFactory,
+            final Codec<T> codec,
+            final long maxKeysInMemory) {
+
+        super(source.estimateSize(),
+                source.characteristics() & (Spliterator.ORDERED | Spliterator.NONNULL) | Spliterator.DISTINCT);
+
+        assert f != null;
+        assert keySetFactory != null;
+        assert codec == null || maxKeysInMemory > 0;
+
+        this.f = f;
+        this.keySetFactory = keySetFactory;
+        this.codec = codec;
+        this.maxKeysInMemory = maxKeysInMemory;
+        this.pendingPartitions = new ArrayDeque<>();
+        this.input = source;
+        this.inputPartition = null;
+        this.inputStream = null;
+        this.keys = keySetFactory.get();
+        this.partitions = null;
+        this.found = false;
+        this.current = null;
+    }
+
+    static <T> DistinctSpliterator<T> exact(final Spliterator<T> source, final Function<? super T, ?> f) {
+        return new DistinctSpliterator<>(source, f, ExactKeySet::new, null, 0);
+    }
+
+    static <T> DistinctSpliterator<T> spilling(
+            final Spliterator<T> source,
+            final Function<? super T, ?> f,
+            final Codec<T> codec,
+            final int maxKeysInMemory) {
+
+        return new DistinctSpliterator<>(source, f, ExactKeySet::new, codec, maxKeysInMemory);
+    }
+
+    static <T> DistinctSpliterator<T> approximate(
+            final Spliterator<T> source,
+            final Function<? super T, ?> f,
+            final long expectedKeys,
+            final double falsePositiveRate) {
+
+        return new DistinctSpliterator<>(source, f,
+                () -> new BloomKeySet(expectedKeys, falsePositiveRate), null, 0);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        boolean ret = false;
+
+        try {
+            while (!ret && this.input != null) {
+                ret = this.advance();
+
+                if (!ret) {
+                    this.nextInput();
+                }
+            }
+        } catch (final RuntimeException | Error e) {
+            try {
+                this.close();
+            } catch (final RuntimeException e2) {
+                e.addSuppressed(e2);
+            }
+
+            throw e;
+        }
+
+        if (ret) {
+            final T value = this.current;
+
+            this.current = null;
+            action.accept(value);
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void close() {
+        RuntimeException error = null;
+
+        final List<AutoCloseable> resources = new ArrayList<>();
+
+        resources.add(this.inputStream);
+
+        if (this.inputPartition != null) {
+            resources.add(this.inputPartition.file);
+        }
+
+        if (this.partitions != null) {
+            resources.addAll(this.partitions);
+        }
+
+        this.pendingPartitions.forEach(partition -> resources.add(partition.file));
+
+        for (final AutoCloseable resource : resources) {
+            try {
+                SeqSupport.close(resource);
+            } catch (final RuntimeException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+
+        this.input = null;
+        this.inputPartition = null;
+        this.inputStream = null;
+        this.partitions = null;
+        this.pendingPartitions.clear();
+        this.keys = null;
+
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private boolean advance() {
+        this.found = false;
+
+        while (!this.found && this.input.tryAdvance(this::accept)) {
+        }
+
+        return this.found;
+    }
+
+    private void accept(final T value) {
+        final Object key = this.f.apply(value);
+
+        if (this.partitions == null) {
+            if (this.keys.add(key)) {
+                this.current = value;
+                this.found = true;
+
+                if (this.codec != null
+                        && this.keys.size() >= this.maxKeysInMemory
+                        && this.depth() < MAX_DEPTH) {
+
+                    this.startSpilling();
+                }
+            }
+        } else if (!this.keys.contains(key)) {
+            final int shift = 64 - PARTITION_BITS * (this.depth() + 1);
+            final int index = (int) (Hashing.hash(key) >>> shift) & ((1 << PARTITION_BITS) - 1);
+
+            this.partitions.get(index).write(value);
+        }
+    }
+
+    /**
+     * Finishes the current input and continues with the next non-empty
+     * partition (if any).
+     */
+    private void nextInput() {
+        final int depth = this.depth();
+
+        if (this.inputStream != null) {
+            this.inputStream.close();
+            this.inputPartition.file.close();
+        }
+
+        this.input = null;
+        this.inputPartition = null;
+        this.inputStream = null;
+        this.keys = null;
+
+        if (this.partitions != null) {
+            final List<SpillFile<T>> files = this.partitions;
+
+            this.partitions = null;
+
+            for (final SpillFile<T> file : files) {
+                file.complete();
+
+                if (file.size() == 0) {
+                    file.close();
+                } else {
+                    this.pendingPartitions.push(new Partition<>(file, depth + 1));
+                }
+            }
+        }
+
+        final Partition<T> next = this.pendingPartitions.poll();
+
+        if (next != null) {
+            this.inputPartition = next;
+            this.inputStream = next.file.read();
+            this.input = this.inputStream.spliterator();
+            this.keys = this.keySetFactory.get();
+        }
+    }
+
+    private int depth() {
+        return this.inputPartition == null ? 0 : this.inputPartition.depth;
+    }
+
+    private void startSpilling() {
+        this.partitions = new ArrayList<>(1 << PARTITION_BITS);
+
+        for (int i = 0; i < 1 << PARTITION_BITS; ++i) {
+            this.partitions.add(SpillFile.create(null, this.codec));
+        }
+    }
+
+    /**
+     * Spilled elements whose key hashes share the first depth *
+     * PARTITION_BITS bits.
+     */
+    private static final class Partition<T> {
+        private final SpillFile<T> file;
+        private final int depth;
+
+        Partition(final SpillFile<T> file, final int depth) {
+            this.file = file;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * Set of the keys seen so far.
+     */
+    interface KeySet {
+        /**
+         * Adds the key, returns false if it has already been contained.
+         */
+        boolean add(Object key);
+
+        boolean contains(Object key);
+
+        long size();
+    }
+
+    /**
+     * Key set that stores integral keys as primitive longs as long as all
+     * keys are of the same type and switches to a hash set otherwise.
+     */
+    static final class ExactKeySet implements KeySet {
+        private LongHashSet integralKeys;
+        private Class<?> integralType;
+        private Set<Object> keys;
+
+        ExactKeySet() {
+            this.integralKeys = new LongHashSet();
+            this.integralType = null;
+            this.keys = null;
+        }
+
+        @Override
+        public boolean add(final Object key) {
+            final boolean ret;
+
+            if (this.isIntegral(key)) {
+                this.integralType = key.getClass();
+                ret = this.integralKeys.add(((Number) key).longValue());
+            } else {
+                this.switchToHashSet();
+                ret = this.keys.add(key);
+            }
+
+            return ret;
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            final boolean ret;
+
+            if (this.keys != null) {
+                ret = this.keys.contains(key);
+            } else if (this.isIntegral(key)) {
+                ret = this.integralKeys.contains(((Number) key).longValue());
+            } else {
+                ret = false;
+            }
+
+            return ret;
+        }
+
+        @Override
+        public long size() {
+            return this.keys != null ? this.keys.size() : this.integralKeys.size();
+        }
+
+        private boolean isIntegral(final Object key) {
+            return this.keys == null
+                    && (this.integralType == null
+                        ? key instanceof Long || key instanceof Integer
+                        : key != null && key.getClass() == this.integralType);
+        }
+
+        private void switchToHashSet() {
+            if (this.keys == null) {
+                final Set<Object> set = new HashSet<>();
+                final boolean isInteger = this.integralType == Integer.class;
+
+                this.integralKeys.forEach(value -> set.add(isInteger ? (Object) (int) value : (Object) value));
+                this.keys = set;
+                this.integralKeys = null;
+            }
+        }
+    }
+
+    /**
+     * Constant memory key set which may consider a new key as already
+     * seen with the given probability.
+     */
+    static final class BloomKeySet implements KeySet {
+        private final BloomFilter filter;
+        private long size;
+
+        BloomKeySet(final long expectedKeys, final double falsePositiveRate) {
+            this.filter = new BloomFilter(expectedKeys, falsePositiveRate);
+            this.size = 0;
+        }
+
+        @Override
+        public boolean add(final Object key) {
+            final boolean ret = this.filter.put(Hashing.hash(key));
+
+            if (ret) {
+                ++this.size;
+            }
+
+            return ret;
+        }
+
+        @Override
+        public boolean contains(final Object key) {
+            return this.filter.mightContain(Hashing.hash(key));
+        }
+
+        @Override
+        public long size() {
+            return this.size;
+        }
+    }
+
+    /**
+     * Element together with its precomputed key, used for deduplicating
+     * parallel streams.
+     */
+    static final class Keyed<T> {
+        private final Object key;
+        private final T value;
+
+        Keyed(final T value, final Function<? super T, ?> f) {
+            this.key = f.apply(value);
+            this.value = value;
+        }
+
+        T getValue() {
+            return this.value;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof Keyed && Objects.equals(this.key, ((Keyed<?>) other).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.key);
+        }
+    }
+}
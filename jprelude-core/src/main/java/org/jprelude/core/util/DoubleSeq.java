@@ -0,0 +1,218 @@
+package org.jprelude.core.util;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+@FunctionalInterface
+public interface DoubleSeq {
+    DoubleStream stream();
+
+    default DoubleSeq sequential() {
+        return () -> {
+            final DoubleStream stream = this.stream();
+
+            return stream.isParallel() ? stream.sequential() : stream;
+        };
+    }
+
+    default DoubleSeq parallel() {
+        return () -> {
+            final DoubleStream stream = this.stream();
+
+            return stream.isParallel() ? stream : stream.parallel();
+        };
+    }
+
+    default DoubleSeq map(final DoubleUnaryOperator f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().map(f);
+    }
+
+    default <R> Seq<R> mapToObj(final DoubleFunction<? extends R> f) {
+        Objects.requireNonNull(f);
+
+        return Seq.from(() -> this.stream().mapToObj(f));
+    }
+
+    default IntSeq mapToInt(final DoubleToIntFunction f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().mapToInt(f);
+    }
+
+    default LongSeq mapToLong(final DoubleToLongFunction f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().mapToLong(f);
+    }
+
+    default DoubleSeq flatMap(final DoubleFunction<? extends DoubleSeq> f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().flatMap(v -> f.apply(v).stream());
+    }
+
+    default DoubleSeq filter(final DoublePredicate pred) {
+        Objects.requireNonNull(pred);
+
+        return () -> this.stream().filter(pred);
+    }
+
+    default DoubleSeq reject(final DoublePredicate pred) {
+        Objects.requireNonNull(pred);
+
+        return () -> this.stream().filter(v -> !pred.test(v));
+    }
+
+    default DoubleSeq take(final long n) {
+        return () -> this.stream().limit(n);
+    }
+
+    default DoubleSeq skip(final long n) {
+        return () -> this.stream().skip(n);
+    }
+
+    default DoubleSeq distinct() {
+        return () -> this.stream().distinct();
+    }
+
+    default DoubleSeq sorted() {
+        return () -> this.stream().sorted();
+    }
+
+    default DoubleSeq peek(final DoubleConsumer action) {
+        Objects.requireNonNull(action);
+
+        return () -> this.stream().peek(action);
+    }
+
+    default Seq<Double> boxed() {
+        return Seq.from(() -> this.stream().boxed());
+    }
+
+    default double sum() {
+        return SeqSupport.evaluate(this.stream(), DoubleStream::sum);
+    }
+
+    default OptionalDouble min() {
+        return SeqSupport.evaluate(this.stream(), DoubleStream::min);
+    }
+
+    default OptionalDouble max() {
+        return SeqSupport.evaluate(this.stream(), DoubleStream::max);
+    }
+
+    default OptionalDouble average() {
+        return SeqSupport.evaluate(this.stream(), DoubleStream::average);
+    }
+
+    default DoubleSummaryStatistics summaryStatistics() {
+        return SeqSupport.evaluate(this.stream(), DoubleStream::summaryStatistics);
+    }
+
+    default long count() {
+        return SeqSupport.evaluate(this.stream(), DoubleStream::count);
+    }
+
+    default double reduce(final double identity, final DoubleBinaryOperator accumulator) {
+        Objects.requireNonNull(accumulator);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.reduce(identity, accumulator));
+    }
+
+    default OptionalDouble reduce(final DoubleBinaryOperator accumulator) {
+        Objects.requireNonNull(accumulator);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.reduce(accumulator));
+    }
+
+    default boolean anyMatch(final DoublePredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.anyMatch(predicate));
+    }
+
+    default boolean allMatch(final DoublePredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.allMatch(predicate));
+    }
+
+    default boolean noneMatch(final DoublePredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.noneMatch(predicate));
+    }
+
+    default OptionalDouble findFirst() {
+        return SeqSupport.evaluate(this.stream(), DoubleStream::findFirst);
+    }
+
+    default void forEach(final DoubleConsumer action) {
+        Objects.requireNonNull(action);
+
+        SeqSupport.run(this.stream(), stream -> stream.forEach(action));
+    }
+
+    default double[] toArray() {
+        return SeqSupport.evaluate(this.stream(), DoubleStream::toArray);
+    }
+
+    // Static factories
+
+    static DoubleSeq empty() {
+        return () -> DoubleStream.empty();
+    }
+
+    static DoubleSeq of(final double... values) {
+        return DoubleSeq.from(values);
+    }
+
+    static DoubleSeq from(final double[] values) {
+        return values == null
+                ? DoubleSeq.empty()
+                : () -> DoubleStream.of(values);
+    }
+
+    static DoubleSeq iterate(final double seed, final DoubleUnaryOperator f) {
+        Objects.requireNonNull(f);
+
+        return () -> DoubleStream.iterate(seed, f);
+    }
+
+    static <S> DoubleSeq unfold(final Supplier<S> stateSupplier, final ToDoubleFunction<? super S> step) {
+        return DoubleSeq.unfold(stateSupplier, step, null);
+    }
+
+    static <S> DoubleSeq unfold(
+            final Supplier<S> stateSupplier,
+            final ToDoubleFunction<? super S> step,
+            final ObjLongConsumer<S> jump) {
+
+        Objects.requireNonNull(stateSupplier);
+        Objects.requireNonNull(step);
+
+        return () -> StreamSupport.doubleStream(new UnfoldSpliterator.DoubleUnfold<S>(stateSupplier, step, jump), false);
+    }
+
+    static DoubleSeq generate(final DoubleSupplier supplier) {
+        Objects.requireNonNull(supplier);
+
+        return () -> DoubleStream.generate(supplier);
+    }
+}
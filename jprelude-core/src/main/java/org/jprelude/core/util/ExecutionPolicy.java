@@ -0,0 +1,156 @@
+package org.jprelude.core.util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Describes how a parallel sequence is executed: the fork/join pool that
+ * runs the terminal operations (by default the common pool), whether the
+ * encounter order has to be kept and the minimal number of elements per
+ * split. A pool that has been created by the policy itself is shut down
+ * when the policy is closed, a pool given by the caller is left alone.
+ */
+public final class ExecutionPolicy implements AutoCloseable {
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final boolean ordered;
+    private final long minBatchSize;
+
+    private ExecutionPolicy(final Builder builder) {
+        assert builder != null;
+
+        if (builder.pool != null) {
+            this.pool = builder.pool;
+            this.ownsPool = false;
+        } else if (builder.parallelism > 0) {
+            this.pool = new ForkJoinPool(builder.parallelism);
+            this.ownsPool = true;
+        } else {
+            this.pool = null;
+            this.ownsPool = false;
+        }
+
+        this.ordered = builder.ordered;
+        this.minBatchSize = builder.minBatchSize;
+    }
+
+    public ForkJoinPool getPool() {
+        return this.pool != null ? this.pool : ForkJoinPool.commonPool();
+    }
+
+    public boolean isOrdered() {
+        return this.ordered;
+    }
+
+    public long getMinBatchSize() {
+        return this.minBatchSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Shuts down the pool if it has been created by this policy. Running
+     * tasks are completed, sequences must not be executed with this
+     * policy afterwards.
+     */
+    @Override
+    public void close() {
+        if (this.ownsPool) {
+            this.pool.shutdown();
+        }
+    }
+
+    <T> Stream<T> apply(final Stream<T> stream) {
+        assert stream != null;
+
+        Stream<T> ret = stream instanceof PolicyStream
+                ? ((PolicyStream<T>) stream).getDelegate()
+                : stream;
+
+        ret = ret.parallel();
+
+        if (this.minBatchSize > 1) {
+            ret = SeqSupport.derive(ret, spliterator -> new MinBatchSpliterator<>(spliterator, this.minBatchSize));
+        }
+
+        if (!this.ordered) {
+            ret = ret.unordered();
+        }
+
+        return new PolicyStream<>(ret, this);
+    }
+
+    /**
+     * Runs the given task in the pool of this policy.
+     */
+    <R> R execute(final Supplier<R> task) {
+        final R ret;
+
+        if (this.pool == null || ForkJoinTask.getPool() == this.pool) {
+            ret = task.get();
+        } else {
+            ret = this.pool.submit(() -> task.get()).join();
+        }
+
+        return ret;
+    }
+
+    public static final class Builder {
+        private ForkJoinPool pool;
+        private int parallelism;
+        private boolean ordered;
+        private long minBatchSize;
+
+        private Builder() {
+            this.pool = null;
+            this.parallelism = 0;
+            this.ordered = true;
+            this.minBatchSize = 1;
+        }
+
+        public Builder pool(final ForkJoinPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        /**
+         * Runs the sequence in a new pool with the given parallelism
+         * (only if no pool is given explicitly). The pool is owned by the
+         * policy and shut down by {@link ExecutionPolicy#close()}.
+         */
+        public Builder parallelism(final int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("Parallelism must be a positive integer number");
+            }
+
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder ordered(final boolean ordered) {
+            this.ordered = ordered;
+            return this;
+        }
+
+        public Builder minBatchSize(final long minBatchSize) {
+            if (minBatchSize <= 0) {
+                throw new IllegalArgumentException("Minimal batch size must be a positive integer number");
+            }
+
+            this.minBatchSize = minBatchSize;
+            return this;
+        }
+
+        public ExecutionPolicy build() {
+            if (this.pool != null && this.parallelism > 0) {
+                throw new IllegalStateException("Either a pool or a parallelism can be given, but not both");
+            }
+
+            return new ExecutionPolicy(this);
+        }
+    }
+}
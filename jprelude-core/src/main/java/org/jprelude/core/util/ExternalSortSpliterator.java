@@ -0,0 +1,297 @@
+package org.jprelude.core.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Spliterator that sorts the elements of the underlying spliterator with
+ * a memory budget. Whenever maxInMemory elements have been buffered they
+ * are sorted in parallel and spilled as a sorted run to a temporary file.
+ * If there are too many runs to merge them at once, groups of consecutive
+ * runs are merged into bigger runs first, so at most MAX_FAN_IN files are
+ * open at the same time. The final runs are merged lazily while the result
+ * is traversed. The sort is stable.
+ */
+final class ExternalSortSpliterator<T> extends Spliterators.AbstractSpliterator<T>
+        implements CloseableSpliterator<T> {
+
+    static final int MAX_FAN_IN = 64;
+
+    private final Spliterator<T> source;
+    private final Comparator<? super T> comparator;
+    private final Codec<T> codec;
+    private final int maxInMemory;
+    private final List<SpillFile<T>> runFiles;
+    private final List<Stream<T>> runStreams;
+    private PriorityQueue<Run<T>> runs;
+    private Object[] buffer;
+    private int bufferSize;
+
+    ExternalSortSpliterator(
+            final Spliterator<T> source,
+            final Comparator<? super T> comparator,
+            final Codec<T> codec,
+            final int maxInMemory) {
+
+        super(source.estimateSize(), Spliterator.ORDERED);
+
+        assert comparator != null;
+        assert codec != null;
+        assert maxInMemory > 0;
+
+        this.source = source;
+        this.comparator = comparator;
+        this.codec = codec;
+        this.maxInMemory = maxInMemory;
+        this.runFiles = new ArrayList<>();
+        this.runStreams = new ArrayList<>();
+        this.runs = null;
+        this.buffer = null;
+        this.bufferSize = 0;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (this.runs == null) {
+            this.createRuns();
+        }
+
+        final Run<T> run = this.runs.poll();
+        final boolean ret = run != null;
+
+        if (ret) {
+            final T value = run.head;
+
+            if (run.advance()) {
+                this.runs.add(run);
+            } else if (this.runs.isEmpty()) {
+                this.close();
+            }
+
+            action.accept(value);
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void close() {
+        RuntimeException error = null;
+
+        for (final Stream<T> stream : this.runStreams) {
+            try {
+                stream.close();
+            } catch (final RuntimeException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+
+        for (final SpillFile<T> runFile : this.runFiles) {
+            try {
+                runFile.close();
+            } catch (final RuntimeException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+
+        this.runStreams.clear();
+        this.runFiles.clear();
+
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void createRuns() {
+        this.buffer = new Object[Math.min(this.maxInMemory, 1024)];
+
+        try {
+            this.source.forEachRemaining(value -> {
+                if (this.bufferSize == this.maxInMemory) {
+                    this.spillBuffer();
+                }
+
+                if (this.bufferSize == this.buffer.length) {
+                    this.buffer = Arrays.copyOf(this.buffer,
+                            (int) Math.min((long) this.buffer.length * 2, this.maxInMemory));
+                }
+
+                this.buffer[this.bufferSize++] = value;
+            });
+
+            this.sortBuffer();
+            this.reduceRuns();
+            this.runs = new PriorityQueue<>(this.runFiles.size() + 1);
+
+            for (int i = 0; i < this.runFiles.size(); ++i) {
+                final Stream<T> stream = this.runFiles.get(i).read();
+
+                this.runStreams.add(stream);
+                this.addRun(stream.spliterator(), i);
+            }
+
+            // The last run does not need to be spilled
+            this.addRun(Spliterators.spliterator(this.buffer, 0, this.bufferSize, 0), this.runFiles.size());
+            this.buffer = null;
+        } catch (final RuntimeException | Error e) {
+            try {
+                this.close();
+            } catch (final RuntimeException e2) {
+                e.addSuppressed(e2);
+            }
+
+            throw e;
+        }
+    }
+
+    private void spillBuffer() {
+        final SpillFile<T> runFile = SpillFile.create(null, this.codec);
+
+        this.runFiles.add(runFile);
+        this.sortBuffer();
+
+        for (int i = 0; i < this.bufferSize; ++i) {
+            @SuppressWarnings("unchecked")
+            final T value = (T) this.buffer[i];
+
+            runFile.write(value);
+            this.buffer[i] = null;
+        }
+
+        runFile.complete();
+        this.bufferSize = 0;
+    }
+
+    /**
+     * Merges groups of consecutive run files until the remaining run files
+     * and the in-memory run can be merged with a fan-in of MAX_FAN_IN.
+     */
+    private void reduceRuns() {
+        while (this.runFiles.size() >= MAX_FAN_IN) {
+            final List<SpillFile<T>> mergedRuns = new ArrayList<>();
+
+            try {
+                for (int i = 0; i < this.runFiles.size(); i += MAX_FAN_IN) {
+                    final List<SpillFile<T>> group =
+                            this.runFiles.subList(i, Math.min(i + MAX_FAN_IN, this.runFiles.size()));
+
+                    mergedRuns.add(group.size() == 1 ? group.get(0) : this.mergeRuns(group));
+                }
+            } catch (final RuntimeException | Error e) {
+                for (final SpillFile<T> mergedRun : mergedRuns) {
+                    try {
+                        mergedRun.close();
+                    } catch (final RuntimeException e2) {
+                        e.addSuppressed(e2);
+                    }
+                }
+
+                throw e;
+            }
+
+            this.runFiles.clear();
+            this.runFiles.addAll(mergedRuns);
+        }
+    }
+
+    private SpillFile<T> mergeRuns(final List<SpillFile<T>> group) {
+        final SpillFile<T> ret = SpillFile.create(null, this.codec);
+        final List<Stream<T>> streams = new ArrayList<>(group.size());
+        final PriorityQueue<Run<T>> queue = new PriorityQueue<>(group.size());
+
+        try {
+            for (int i = 0; i < group.size(); ++i) {
+                final Stream<T> stream = group.get(i).read();
+                final Run<T> run = new Run<>(stream.spliterator(), i, this.comparator);
+
+                streams.add(stream);
+
+                if (run.advance()) {
+                    queue.add(run);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                final Run<T> run = queue.poll();
+
+                ret.write(run.head);
+
+                if (run.advance()) {
+                    queue.add(run);
+                }
+            }
+
+            ret.complete();
+        } catch (final RuntimeException | Error e) {
+            try {
+                ret.close();
+            } catch (final RuntimeException e2) {
+                e.addSuppressed(e2);
+            }
+
+            throw e;
+        } finally {
+            streams.forEach(Stream::close);
+        }
+
+        // The merged runs are not needed anymore
+        group.forEach(SpillFile::close);
+
+        return ret;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sortBuffer() {
+        // The buffer only holds elements of type T
+        Arrays.parallelSort((T[]) this.buffer, 0, this.bufferSize, this.comparator);
+    }
+
+    private void addRun(final Spliterator<T> spliterator, final int runIndex) {
+        final Run<T> run = new Run<>(spliterator, runIndex, this.comparator);
+
+        if (run.advance()) {
+            this.runs.add(run);
+        }
+    }
+
+    private static final class Run<T> implements Comparable<Run<T>> {
+        private final Spliterator<T> spliterator;
+        private final int index;
+        private final Comparator<? super T> comparator;
+        private T head;
+
+        Run(final Spliterator<T> spliterator, final int index, final Comparator<? super T> comparator) {
+            this.spliterator = spliterator;
+            this.index = index;
+            this.comparator = comparator;
+            this.head = null;
+        }
+
+        boolean advance() {
+            return this.spliterator.tryAdvance(value -> this.head = value);
+        }
+
+        @Override
+        public int compareTo(final Run<T> other) {
+            final int c = this.comparator.compare(this.head, other.head);
+
+            // Equal elements are taken from the earlier run to keep the sort stable
+            return c != 0 ? c : Integer.compare(this.index, other.index);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.jprelude.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads a sequence once and hands each element to several branches. Each
+ * branch runs on its own thread and consumes a single-use sequence backed
+ * by a bounded channel, so the slowest branch throttles the reader. All
+ * branches have to run at the same time, branches that an executor does
+ * not start in time get a dedicated thread.
+ * Branches that stop early are skipped from then on. The first failure
+ * aborts all other branches and is rethrown by run.
+ */
+final class FanOut {
+    private FanOut() {
+    }
+
+    static <T> void run(
+            final Seq<T> source,
+            final List<? extends Consumer<? super Seq<T>>> branches,
+            final int bufferSize,
+            final Executor executor) {
+
+        assert source != null;
+        assert branches != null;
+        assert bufferSize > 0;
+
+        final List<SpscChannel<T>> channels = new ArrayList<>(branches.size());
+        final List<Runnable> tasks = new ArrayList<>(branches.size());
+        final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        final AtomicInteger activeBranches = new AtomicInteger(branches.size());
+        final CountDownLatch terminated = new CountDownLatch(branches.size());
+        Throwable error = null;
+
+        for (final Consumer<? super Seq<T>> branch : branches) {
+            final SpscChannel<T> channel = new SpscChannel<>(bufferSize);
+
+            channels.add(channel);
+            tasks.add(() -> FanOut.runBranch(branch, channel, failures, activeBranches, terminated));
+        }
+
+        try {
+            SeqSupport.startConcurrently(tasks, executor, "jprelude-fan-out", terminated);
+        } catch (final RuntimeException | Error e) {
+            failures.add(e);
+        }
+
+        if (failures.isEmpty()) {
+            final Consumer<T> broadcast = value -> {
+                for (final SpscChannel<T> channel : channels) {
+                    channel.put(value);
+                }
+            };
+
+            try (final Stream<T> stream = source.stream()) {
+                final Spliterator<T> spliterator = stream.spliterator();
+
+                while (failures.isEmpty()
+                        && activeBranches.get() > 0
+                        && spliterator.tryAdvance(broadcast)) {
+                    // keep on broadcasting
+                }
+            } catch (final RuntimeException | Error e) {
+                error = e;
+            }
+        }
+
+        final SeqCancellationException cancellation = error == null && failures.isEmpty()
+                ? null
+                : new SeqCancellationException("Fan-out has been aborted");
+
+        channels.forEach(channel -> channel.finish(cancellation));
+
+        try {
+            terminated.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            channels.forEach(SpscChannel::cancel);
+
+            throw new SeqCancellationException("Interrupted while waiting for the fan-out branches");
+        }
+
+        for (final Throwable failure : failures) {
+            if (failure != cancellation) {
+                if (error == null) {
+                    error = failure;
+                } else {
+                    error.addSuppressed(failure);
+                }
+            }
+        }
+
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        } else if (error instanceof Error) {
+            throw (Error) error;
+        } else if (error != null) {
+            throw new RuntimeException(error);
+        }
+    }
+
+    private static <T> void runBranch(
+            final Consumer<? super Seq<T>> branch,
+            final SpscChannel<T> channel,
+            final Queue<Throwable> failures,
+            final AtomicInteger activeBranches,
+            final CountDownLatch terminated) {
+
+        try {
+            branch.accept(channel.toSeq());
+        } catch (final RuntimeException | Error e) {
+            failures.add(e);
+        } finally {
+            // Whatever the branch has not consumed is not needed anymore
+            channel.cancel();
+            activeBranches.decrementAndGet();
+            terminated.countDown();
+        }
+    }
+}
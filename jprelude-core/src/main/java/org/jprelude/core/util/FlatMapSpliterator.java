@@ -0,0 +1,159 @@
+package org.jprelude.core.util;
+
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Spliterator that traverses the sequences that result from mapping the
+ * elements of the underlying spliterator one after the other. Each inner
+ * sequence is opened when it is reached and closed as soon as it is
+ * exhausted, and nothing is read ahead, so short-circuiting operations
+ * stop as early as possible. Splitting is done on the outer elements.
+ */
+final class FlatMapSpliterator<T, R> implements CloseableSpliterator<R> {
+    private final Spliterator<T> source;
+    private final Function<? super T, ? extends Seq<? extends R>> f;
+    private final Consumer<T> opener;
+    private final Queue<FlatMapSpliterator<T, R>> splits;
+    private Stream<? extends R> innerStream;
+    private Spliterator<? extends R> inner;
+
+    FlatMapSpliterator(final Spliterator<T> source, final Function<? super T, ? extends Seq<? extends R>> f) {
+        this(source, f, null, null, new ConcurrentLinkedQueue<>());
+    }
+
+    private FlatMapSpliterator(
+            final Spliterator<T> source,
+            final Function<? super T, ? extends Seq<? extends R>> f,
+            final Stream<? extends R> innerStream,
+            final Spliterator<? extends R> inner,
+            final Queue<FlatMapSpliterator<T, R>> splits) {
+
+        assert source != null;
+        assert f != null;
+        assert (innerStream == null) == (inner == null);
+
+        this.source = source;
+        this.f = f;
+        this.opener = this::open;
+        this.splits = splits;
+        this.innerStream = innerStream;
+        this.inner = inner;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+        boolean ret = false;
+
+        while (!ret && (this.inner != null || this.source.tryAdvance(this.opener))) {
+            if (this.inner != null) {
+                ret = this.inner.tryAdvance(action);
+
+                if (!ret) {
+                    this.closeInner();
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super R> action) {
+        while (this.inner != null || this.source.tryAdvance(this.opener)) {
+            if (this.inner != null) {
+                this.inner.forEachRemaining(action);
+                this.closeInner();
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        final Spliterator<T> prefix = this.source.trySplit();
+        final FlatMapSpliterator<T, R> ret;
+
+        if (prefix == null) {
+            ret = null;
+        } else {
+            // The inner sequence in progress precedes the outer prefix, it
+            // is handed over together with its partially consumed spliterator
+            ret = new FlatMapSpliterator<>(prefix, this.f, this.innerStream, this.inner, this.splits);
+            this.splits.add(ret);
+
+            this.innerStream = null;
+            this.inner = null;
+        }
+
+        return ret;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return this.source.characteristics() & Spliterator.ORDERED;
+    }
+
+    /**
+     * Closes the inner sequences in progress of this spliterator and of
+     * all spliterators that have been split off.
+     */
+    @Override
+    public void close() {
+        RuntimeException error = null;
+
+        for (final FlatMapSpliterator<T, R> spliterator : this.splits) {
+            try {
+                spliterator.closeInner();
+            } catch (final RuntimeException e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+
+        try {
+            this.closeInner();
+        } catch (final RuntimeException e) {
+            if (error == null) {
+                error = e;
+            } else {
+                error.addSuppressed(e);
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void closeInner() {
+        final Stream<? extends R> stream = this.innerStream;
+
+        this.innerStream = null;
+        this.inner = null;
+
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void open(final T value) {
+        final Seq<? extends R> seq = this.f.apply(value);
+
+        if (seq != null) {
+            this.innerStream = seq.stream();
+            this.inner = this.innerStream.spliterator();
+        }
+    }
+}
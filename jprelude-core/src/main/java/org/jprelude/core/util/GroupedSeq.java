@@ -0,0 +1,197 @@
+package org.jprelude.core.util;
+
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.HashMap;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Sequence grouped by a key function. All aggregations are computed in
+ * one pass with mutable per-group accumulators. By default each split of
+ * the sequence accumulates into its own map and the maps are merged at
+ * the end. In concurrent mode all threads accumulate into one striped
+ * concurrent map, ignoring the encounter order (null keys are not
+ * supported in that mode).
+ */
+public final class GroupedSeq<K, T> {
+    private final Seq<T> seq;
+    private final Function<? super T, ? extends K> keyFn;
+    private final boolean concurrent;
+
+    GroupedSeq(final Seq<T> seq, final Function<? super T, ? extends K> keyFn, final boolean concurrent) {
+        this.seq = Objects.requireNonNull(seq);
+        this.keyFn = Objects.requireNonNull(keyFn);
+        this.concurrent = concurrent;
+    }
+
+    public GroupedSeq<K, T> concurrent() {
+        return this.concurrent
+                ? this
+                : new GroupedSeq<>(this.seq, this.keyFn, true);
+    }
+
+    public Map<K, Long> count() {
+        return this.aggregate(
+                () -> new long[1],
+                (acc, item) -> ++acc[0],
+                (acc1, acc2) -> {
+                    acc1[0] += acc2[0];
+                    return acc1;
+                },
+                acc -> acc[0]);
+    }
+
+    public Map<K, Long> sumLong(final ToLongFunction<? super T> f) {
+        Objects.requireNonNull(f);
+
+        return this.aggregate(
+                () -> new long[1],
+                (acc, item) -> acc[0] += f.applyAsLong(item),
+                (acc1, acc2) -> {
+                    acc1[0] += acc2[0];
+                    return acc1;
+                },
+                acc -> acc[0]);
+    }
+
+    public Map<K, Double> sumDouble(final ToDoubleFunction<? super T> f) {
+        Objects.requireNonNull(f);
+
+        return this.aggregate(this.doubleStatistics(f), stats -> stats.getSum());
+    }
+
+    public Map<K, Double> avg(final ToDoubleFunction<? super T> f) {
+        Objects.requireNonNull(f);
+
+        return this.aggregate(this.doubleStatistics(f), stats -> stats.getAverage());
+    }
+
+    public Map<K, T> min(final Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+
+        return this.aggregate(BinaryOperator.minBy(comparator));
+    }
+
+    public Map<K, T> max(final Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+
+        return this.aggregate(BinaryOperator.maxBy(comparator));
+    }
+
+    public Map<K, LongSummaryStatistics> summaryStatisticsLong(final ToLongFunction<? super T> f) {
+        Objects.requireNonNull(f);
+
+        return this.aggregate(
+                LongSummaryStatistics::new,
+                (stats, item) -> stats.accept(f.applyAsLong(item)),
+                (stats1, stats2) -> {
+                    stats1.combine(stats2);
+                    return stats1;
+                },
+                stats -> stats);
+    }
+
+    public Map<K, DoubleSummaryStatistics> summaryStatisticsDouble(final ToDoubleFunction<? super T> f) {
+        Objects.requireNonNull(f);
+
+        return this.aggregate(this.doubleStatistics(f), stats -> stats);
+    }
+
+    public <A, R> Map<K, R> collect(final Collector<? super T, A, R> collector) {
+        Objects.requireNonNull(collector);
+
+        return this.aggregate(
+                collector.supplier(),
+                collector.accumulator(),
+                collector.combiner(),
+                collector.finisher());
+    }
+
+    private Collector<T, DoubleSummaryStatistics, DoubleSummaryStatistics> doubleStatistics(
+            final ToDoubleFunction<? super T> f) {
+
+        return Collector.of(
+                DoubleSummaryStatistics::new,
+                (stats, item) -> stats.accept(f.applyAsDouble(item)),
+                (stats1, stats2) -> {
+                    stats1.combine(stats2);
+                    return stats1;
+                });
+    }
+
+    private <R> Map<K, R> aggregate(
+            final Collector<T, DoubleSummaryStatistics, DoubleSummaryStatistics> collector,
+            final Function<DoubleSummaryStatistics, R> finisher) {
+
+        return this.aggregate(collector.supplier(), collector.accumulator(), collector.combiner(), finisher);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<K, T> aggregate(final BinaryOperator<T> reducer) {
+        // The accumulator holds the current value and a flag whether the
+        // group has already got a value (which may be null itself), so the
+        // first slot only ever contains elements of type T
+        return this.aggregate(
+                () -> new Object[2],
+                (acc, item) -> {
+                    acc[0] = acc[1] == null ? item : reducer.apply((T) acc[0], item);
+                    acc[1] = Boolean.TRUE;
+                },
+                (acc1, acc2) -> {
+                    if (acc2[1] != null) {
+                        acc1[0] = acc1[1] == null ? acc2[0] : reducer.apply((T) acc1[0], (T) acc2[0]);
+                        acc1[1] = Boolean.TRUE;
+                    }
+
+                    return acc1;
+                },
+                acc -> (T) acc[0]);
+    }
+
+    private <A, R> Map<K, R> aggregate(
+            final Supplier<A> newAccumulator,
+            final BiConsumer<A, ? super T> accumulate,
+            final BinaryOperator<A> combine,
+            final Function<A, R> finish) {
+
+        final Map<K, A> accumulators;
+
+        if (!this.concurrent) {
+            accumulators = this.seq.collect(
+                    HashMap::new,
+                    (map, item) -> accumulate.accept(
+                            map.computeIfAbsent(this.keyFn.apply(item), key -> newAccumulator.get()), item),
+                    (map1, map2) -> map2.forEach((key, acc) -> map1.merge(key, acc, combine)));
+        } else {
+            final ConcurrentHashMap<K, A> map = new ConcurrentHashMap<>();
+
+            // compute locks only the bin of the key, so the accumulator
+            // does not need to be thread-safe
+            SeqSupport.run(this.seq.stream().unordered(), stream -> stream.forEach(item ->
+                map.compute(this.keyFn.apply(item), (key, acc) -> {
+                    final A ret = acc == null ? newAccumulator.get() : acc;
+
+                    accumulate.accept(ret, item);
+                    return ret;
+                })));
+
+            accumulators = map;
+        }
+
+        final Map<K, R> ret = new HashMap<>(accumulators.size() * 4 / 3 + 1);
+
+        accumulators.forEach((key, acc) -> ret.put(key, finish.apply(acc)));
+
+        return ret;
+    }
+}
@@ -0,0 +1,54 @@
+package org.jprelude.core.util;
+
+final class Hashing {
+    private Hashing() {
+    }
+
+    /**
+     * Finalization step of MurmurHash3 - spreads the bits of the given
+     * value over the whole 64 bits.
+     */
+    static long mix(final long value) {
+        long h = value;
+
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+
+    /**
+     * 64 bit hash of a key. Integral numbers and character sequences are
+     * hashed by their value, as a 32 bit hash code is too weak for
+     * hundreds of millions of keys.
+     */
+    static long hash(final Object key) {
+        final long ret;
+
+        if (key == null) {
+            ret = 0;
+        } else if (key instanceof Long
+                || key instanceof Integer
+                || key instanceof Short
+                || key instanceof Byte) {
+
+            ret = Hashing.mix(((Number) key).longValue());
+        } else if (key instanceof CharSequence) {
+            final CharSequence chars = (CharSequence) key;
+            long h = 1125899906842597L;
+
+            for (int i = 0; i < chars.length(); ++i) {
+                h = 31 * h + chars.charAt(i);
+            }
+
+            ret = Hashing.mix(h);
+        } else {
+            ret = Hashing.mix(key.hashCode());
+        }
+
+        return ret;
+    }
+}
@@ -0,0 +1,166 @@
+package org.jprelude.core.util;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator that passes the encounter index of each element of the
+ * underlying spliterator to a step function. The index is tracked as a
+ * primitive counter. If the underlying spliterator is SUBSIZED it will be
+ * split, each split starting with its exact offset.
+ */
+final class IndexedSpliterator<T, R> implements Spliterator<R>, Consumer<T> {
+    private static final int MAPPING_CHARACTERISTICS =
+            ~(Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL);
+
+    private static final int FILTERING_CHARACTERISTICS =
+            ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+
+    private final Spliterator<T> source;
+    private final Step<T, R> step;
+    private final int characteristics;
+    private long index;
+    private Consumer<? super R> action;
+    private boolean emitted;
+
+    private IndexedSpliterator(
+            final Spliterator<T> source,
+            final Step<T, R> step,
+            final int characteristics,
+            final long index) {
+
+        this.source = source;
+        this.step = step;
+        this.characteristics = characteristics;
+        this.index = index;
+        this.action = null;
+        this.emitted = false;
+    }
+
+    static <T, R> Spliterator<R> map(
+            final Spliterator<T> source,
+            final BiFunction<? super T, Long, ? extends R> f) {
+
+        return new IndexedSpliterator<>(
+                source,
+                (value, idx, action) -> {
+                    action.accept(f.apply(value, idx));
+                    return true;
+                },
+                source.characteristics() & MAPPING_CHARACTERISTICS,
+                0);
+    }
+
+    static <T> Spliterator<T> filter(
+            final Spliterator<T> source,
+            final BiPredicate<? super T, Long> pred) {
+
+        return new IndexedSpliterator<T, T>(
+                source,
+                (value, idx, action) -> {
+                    final boolean ret = pred.test(value, idx);
+
+                    if (ret) {
+                        action.accept(value);
+                    }
+
+                    return ret;
+                },
+                source.characteristics() & FILTERING_CHARACTERISTICS,
+                0);
+    }
+
+    static <T> Spliterator<T> peek(
+            final Spliterator<T> source,
+            final BiConsumer<? super T, Long> consumer) {
+
+        return new IndexedSpliterator<T, T>(
+                source,
+                (value, idx, action) -> {
+                    consumer.accept(value, idx);
+                    action.accept(value);
+                    return true;
+                },
+                source.characteristics(),
+                0);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+        boolean ret = false;
+
+        this.action = action;
+
+        try {
+            while (!ret && this.source.tryAdvance(this)) {
+                ret = this.emitted;
+            }
+        } finally {
+            this.action = null;
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super R> action) {
+        this.source.forEachRemaining(value ->
+                this.step.apply(value, this.index++, action));
+    }
+
+    @Override
+    public void accept(final T value) {
+        this.emitted = this.step.apply(value, this.index++, this.action);
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        Spliterator<R> ret = null;
+
+        if (this.source.hasCharacteristics(Spliterator.SUBSIZED)) {
+            final long offset = this.index;
+            final Spliterator<T> prefix = this.source.trySplit();
+
+            if (prefix != null) {
+                this.index += prefix.getExactSizeIfKnown();
+
+                ret = new IndexedSpliterator<>(
+                        prefix, this.step, this.characteristics, offset);
+            }
+        }
+
+        return ret;
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return this.characteristics;
+    }
+
+    @Override
+    public Comparator<? super R> getComparator() {
+        if (!this.hasCharacteristics(Spliterator.SORTED)) {
+            throw new IllegalStateException();
+        }
+
+        // Only sorted if the elements have been passed through unchanged
+        @SuppressWarnings("unchecked")
+        final Comparator<? super R> ret = (Comparator<? super R>) this.source.getComparator();
+
+        return ret;
+    }
+
+    @FunctionalInterface
+    interface Step<T, R> {
+        boolean apply(T value, long index, Consumer<? super R> action);
+    }
+}
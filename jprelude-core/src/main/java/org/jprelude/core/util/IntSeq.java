@@ -0,0 +1,235 @@
+package org.jprelude.core.util;
+
+import java.util.IntSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+@FunctionalInterface
+public interface IntSeq {
+    IntStream stream();
+
+    default IntSeq sequential() {
+        return () -> {
+            final IntStream stream = this.stream();
+
+            return stream.isParallel() ? stream.sequential() : stream;
+        };
+    }
+
+    default IntSeq parallel() {
+        return () -> {
+            final IntStream stream = this.stream();
+
+            return stream.isParallel() ? stream : stream.parallel();
+        };
+    }
+
+    default IntSeq map(final IntUnaryOperator f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().map(f);
+    }
+
+    default <R> Seq<R> mapToObj(final IntFunction<? extends R> f) {
+        Objects.requireNonNull(f);
+
+        return Seq.from(() -> this.stream().mapToObj(f));
+    }
+
+    default LongSeq mapToLong(final IntToLongFunction f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().mapToLong(f);
+    }
+
+    default DoubleSeq mapToDouble(final IntToDoubleFunction f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().mapToDouble(f);
+    }
+
+    default IntSeq flatMap(final IntFunction<? extends IntSeq> f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().flatMap(v -> f.apply(v).stream());
+    }
+
+    default IntSeq filter(final IntPredicate pred) {
+        Objects.requireNonNull(pred);
+
+        return () -> this.stream().filter(pred);
+    }
+
+    default IntSeq reject(final IntPredicate pred) {
+        Objects.requireNonNull(pred);
+
+        return () -> this.stream().filter(v -> !pred.test(v));
+    }
+
+    default IntSeq take(final long n) {
+        return () -> this.stream().limit(n);
+    }
+
+    default IntSeq skip(final long n) {
+        return () -> this.stream().skip(n);
+    }
+
+    default IntSeq distinct() {
+        return () -> this.stream().distinct();
+    }
+
+    default IntSeq sorted() {
+        return () -> this.stream().sorted();
+    }
+
+    default IntSeq peek(final IntConsumer action) {
+        Objects.requireNonNull(action);
+
+        return () -> this.stream().peek(action);
+    }
+
+    default Seq<Integer> boxed() {
+        return Seq.from(() -> this.stream().boxed());
+    }
+
+    default LongSeq asLongSeq() {
+        return () -> this.stream().asLongStream();
+    }
+
+    default DoubleSeq asDoubleSeq() {
+        return () -> this.stream().asDoubleStream();
+    }
+
+    default int sum() {
+        return SeqSupport.evaluate(this.stream(), IntStream::sum);
+    }
+
+    default OptionalInt min() {
+        return SeqSupport.evaluate(this.stream(), IntStream::min);
+    }
+
+    default OptionalInt max() {
+        return SeqSupport.evaluate(this.stream(), IntStream::max);
+    }
+
+    default OptionalDouble average() {
+        return SeqSupport.evaluate(this.stream(), IntStream::average);
+    }
+
+    default IntSummaryStatistics summaryStatistics() {
+        return SeqSupport.evaluate(this.stream(), IntStream::summaryStatistics);
+    }
+
+    default long count() {
+        return SeqSupport.evaluate(this.stream(), IntStream::count);
+    }
+
+    default int reduce(final int identity, final IntBinaryOperator accumulator) {
+        Objects.requireNonNull(accumulator);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.reduce(identity, accumulator));
+    }
+
+    default OptionalInt reduce(final IntBinaryOperator accumulator) {
+        Objects.requireNonNull(accumulator);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.reduce(accumulator));
+    }
+
+    default boolean anyMatch(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.anyMatch(predicate));
+    }
+
+    default boolean allMatch(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.allMatch(predicate));
+    }
+
+    default boolean noneMatch(final IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.noneMatch(predicate));
+    }
+
+    default OptionalInt findFirst() {
+        return SeqSupport.evaluate(this.stream(), IntStream::findFirst);
+    }
+
+    default void forEach(final IntConsumer action) {
+        Objects.requireNonNull(action);
+
+        SeqSupport.run(this.stream(), stream -> stream.forEach(action));
+    }
+
+    default int[] toArray() {
+        return SeqSupport.evaluate(this.stream(), IntStream::toArray);
+    }
+
+    // Static factories
+
+    static IntSeq empty() {
+        return () -> IntStream.empty();
+    }
+
+    static IntSeq of(final int... values) {
+        return IntSeq.from(values);
+    }
+
+    static IntSeq from(final int[] values) {
+        return values == null
+                ? IntSeq.empty()
+                : () -> IntStream.of(values);
+    }
+
+    static IntSeq range(final int start, final int end) {
+        return () -> IntStream.range(start, end);
+    }
+
+    static IntSeq rangeClosed(final int start, final int end) {
+        return () -> IntStream.rangeClosed(start, end);
+    }
+
+    static IntSeq iterate(final int seed, final IntUnaryOperator f) {
+        Objects.requireNonNull(f);
+
+        return () -> IntStream.iterate(seed, f);
+    }
+
+    static <S> IntSeq unfold(final Supplier<S> stateSupplier, final ToIntFunction<? super S> step) {
+        return IntSeq.unfold(stateSupplier, step, null);
+    }
+
+    static <S> IntSeq unfold(
+            final Supplier<S> stateSupplier,
+            final ToIntFunction<? super S> step,
+            final ObjLongConsumer<S> jump) {
+
+        Objects.requireNonNull(stateSupplier);
+        Objects.requireNonNull(step);
+
+        return () -> StreamSupport.intStream(new UnfoldSpliterator.IntUnfold<S>(stateSupplier, step, jump), false);
+    }
+
+    static IntSeq generate(final IntSupplier supplier) {
+        Objects.requireNonNull(supplier);
+
+        return () -> IntStream.generate(supplier);
+    }
+}
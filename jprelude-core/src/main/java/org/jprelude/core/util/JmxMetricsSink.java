@@ -0,0 +1,59 @@
+package org.jprelude.core.util;
+
+import java.lang.management.ManagementFactory;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * Metrics sink that registers the metrics of the latest traversal of
+ * each stage at the platform MBean server.
+ */
+final class JmxMetricsSink implements MetricsSink {
+    static final JmxMetricsSink INSTANCE = new JmxMetricsSink();
+
+    private JmxMetricsSink() {
+    }
+
+    @Override
+    public void started(final StageMetrics metrics) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = JmxMetricsSink.objectName(metrics.getStageName());
+
+        try {
+            synchronized (this) {
+                try {
+                    server.unregisterMBean(name);
+                } catch (final InstanceNotFoundException e) {
+                    // Stage has not been registered yet
+                }
+
+                server.registerMBean(metrics, name);
+            }
+        } catch (final InstanceAlreadyExistsException e) {
+            // Registered concurrently by another JVM component, ignore
+        } catch (final JMException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void completed(final StageMetrics metrics) {
+        // The registered metrics keep their final values
+    }
+
+    static ObjectName objectName(final String stageName) {
+        final ObjectName ret;
+
+        try {
+            ret = new ObjectName("org.jprelude:type=SeqStage,name=" + ObjectName.quote(stageName));
+        } catch (final MalformedObjectNameException e) {
+            throw new IllegalArgumentException(e);
+        }
+
+        return ret;
+    }
+}
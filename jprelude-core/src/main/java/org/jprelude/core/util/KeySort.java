@@ -0,0 +1,245 @@
+package org.jprelude.core.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Stable decorate-sort-undecorate sorting by a key. Each key is extracted
+ * exactly once. Integral keys are sorted with an LSD radix sort, string
+ * keys with a radix sort on their first four characters followed by a
+ * comparison sort of the elements that share a prefix. All other keys
+ * are compared by their natural order. Null keys come first in ascending
+ * and last in descending order.
+ */
+final class KeySort {
+    private static final int STRING_PREFIX_LENGTH = 4;
+
+    private KeySort() {
+    }
+
+    /**
+     * Sorts the elements of the given stream. The result keeps the
+     * parallel mode of the source, which is also used to collect the
+     * elements.
+     */
+    static <T> Stream<T> sorted(
+            final Stream<T> source,
+            final Function<? super T, ?> f,
+            final boolean descending) {
+
+        assert source != null;
+        assert f != null;
+
+        final boolean parallel = source.isParallel();
+
+        return SeqSupport.derive(source, spliterator -> Spliterators.spliterator(
+                KeySort.sort(StreamSupport.stream(spliterator, parallel).toArray(), f, descending),
+                Spliterator.ORDERED | Spliterator.IMMUTABLE));
+    }
+
+    static <T> Object[] sort(
+            final Object[] values,
+            final Function<? super T, ?> f,
+            final boolean descending) {
+
+        assert values != null;
+        assert f != null;
+
+        final int n = values.length;
+        final Object[] keys = new Object[n];
+        final int[] nullIndices = new int[n];
+        final int[] indices = new int[n];
+        int nullCount = 0;
+        int count = 0;
+        boolean integral = true;
+        boolean strings = true;
+
+        for (int i = 0; i < n; ++i) {
+            @SuppressWarnings("unchecked")
+            final T value = (T) values[i];
+            final Object key = f.apply(value);
+
+            if (key == null) {
+                nullIndices[nullCount++] = i;
+            } else {
+                keys[i] = key;
+                indices[count++] = i;
+                integral = integral && KeySort.isIntegral(key);
+                strings = strings && key instanceof String;
+            }
+        }
+
+        final int[] sortedIndices = Arrays.copyOf(indices, count);
+
+        if (integral) {
+            KeySort.sortByIntegralKeys(sortedIndices, keys, descending);
+        } else if (strings) {
+            KeySort.sortByStringKeys(sortedIndices, keys, descending);
+        } else {
+            KeySort.sortByComparableKeys(sortedIndices, 0, count, keys, descending);
+        }
+
+        final Object[] ret = new Object[n];
+        int pos = 0;
+
+        if (!descending) {
+            for (int i = 0; i < nullCount; ++i) {
+                ret[pos++] = values[nullIndices[i]];
+            }
+        }
+
+        for (final int idx : sortedIndices) {
+            ret[pos++] = values[idx];
+        }
+
+        if (descending) {
+            for (int i = 0; i < nullCount; ++i) {
+                ret[pos++] = values[nullIndices[i]];
+            }
+        }
+
+        return ret;
+    }
+
+    private static boolean isIntegral(final Object key) {
+        return key instanceof Long
+                || key instanceof Integer
+                || key instanceof Short
+                || key instanceof Byte;
+    }
+
+    private static void sortByIntegralKeys(
+            final int[] indices,
+            final Object[] keys,
+            final boolean descending) {
+
+        final long[] radixKeys = new long[indices.length];
+
+        for (int i = 0; i < indices.length; ++i) {
+            // Flipping the sign bit makes the unsigned order the signed order
+            final long key = ((Number) keys[indices[i]]).longValue() ^ Long.MIN_VALUE;
+
+            radixKeys[i] = descending ? ~key : key;
+        }
+
+        KeySort.radixSort(radixKeys, indices);
+    }
+
+    private static void sortByStringKeys(
+            final int[] indices,
+            final Object[] keys,
+            final boolean descending) {
+
+        final long[] radixKeys = new long[indices.length];
+
+        for (int i = 0; i < indices.length; ++i) {
+            final String key = (String) keys[indices[i]];
+            long prefix = 0;
+
+            for (int j = 0; j < STRING_PREFIX_LENGTH; ++j) {
+                prefix = (prefix << 16) | (j < key.length() ? key.charAt(j) : 0);
+            }
+
+            radixKeys[i] = descending ? ~prefix : prefix;
+        }
+
+        KeySort.radixSort(radixKeys, indices);
+
+        // Elements with equal prefixes still have to be compared completely
+        int start = 0;
+
+        for (int i = 1; i <= indices.length; ++i) {
+            if (i == indices.length || radixKeys[i] != radixKeys[start]) {
+                if (i - start > 1) {
+                    KeySort.sortByComparableKeys(indices, start, i, keys, descending);
+                }
+
+                start = i;
+            }
+        }
+    }
+
+    private static void sortByComparableKeys(
+            final int[] indices,
+            final int from,
+            final int to,
+            final Object[] keys,
+            final boolean descending) {
+
+        final Integer[] boxedIndices = new Integer[to - from];
+
+        for (int i = from; i < to; ++i) {
+            boxedIndices[i - from] = indices[i];
+        }
+
+        // Keys have been produced by a function with a Comparable result type
+        @SuppressWarnings("unchecked")
+        final Comparator<Integer> comparator = (idx1, idx2) ->
+                ((Comparable<Object>) keys[idx1]).compareTo(keys[idx2]);
+
+        // TimSort is stable, so equal keys keep their encounter order
+        Arrays.sort(boxedIndices, descending ? comparator.reversed() : comparator);
+
+        for (int i = from; i < to; ++i) {
+            indices[i] = boxedIndices[i - from];
+        }
+    }
+
+    /**
+     * Stable LSD radix sort of the given keys (compared as unsigned
+     * numbers), the indices are permuted accordingly. Byte positions in
+     * which all keys agree are skipped.
+     */
+    private static void radixSort(final long[] keys, final int[] indices) {
+        final int n = keys.length;
+        final int[] counts = new int[256];
+        long[] srcKeys = keys;
+        int[] srcIndices = indices;
+        long[] dstKeys = new long[n];
+        int[] dstIndices = new int[n];
+
+        for (int shift = 0; shift < 64; shift += 8) {
+            Arrays.fill(counts, 0);
+
+            for (int i = 0; i < n; ++i) {
+                ++counts[(int) ((srcKeys[i] >>> shift) & 0xFF)];
+            }
+
+            if (n == 0 || counts[(int) ((srcKeys[0] >>> shift) & 0xFF)] == n) {
+                continue;
+            }
+
+            for (int b = 0, pos = 0; b < 256; ++b) {
+                final int c = counts[b];
+
+                counts[b] = pos;
+                pos += c;
+            }
+
+            for (int i = 0; i < n; ++i) {
+                final int pos = counts[(int) ((srcKeys[i] >>> shift) & 0xFF)]++;
+
+                dstKeys[pos] = srcKeys[i];
+                dstIndices[pos] = srcIndices[i];
+            }
+
+            final long[] tmpKeys = srcKeys;
+            final int[] tmpIndices = srcIndices;
+
+            srcKeys = dstKeys;
+            srcIndices = dstIndices;
+            dstKeys = tmpKeys;
+            dstIndices = tmpIndices;
+        }
+
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcIndices, 0, indices, 0, n);
+        }
+    }
+}
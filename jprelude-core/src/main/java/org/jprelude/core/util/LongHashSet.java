@@ -0,0 +1,104 @@
+package org.jprelude.core.util;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Open addressing hash set of primitive longs.
+ */
+final class LongHashSet {
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    LongHashSet() {
+        this.table = new long[16];
+        this.mask = this.table.length - 1;
+        this.size = 0;
+        this.containsZero = false;
+    }
+
+    boolean add(final long value) {
+        boolean ret;
+
+        if (value == 0) {
+            ret = !this.containsZero;
+            this.containsZero = true;
+        } else {
+            int i = (int) Hashing.mix(value) & this.mask;
+
+            while (this.table[i] != 0 && this.table[i] != value) {
+                i = (i + 1) & this.mask;
+            }
+
+            ret = this.table[i] == 0;
+
+            if (ret) {
+                this.table[i] = value;
+
+                if (2 * (this.size + 1) > this.table.length) {
+                    this.grow();
+                }
+            }
+        }
+
+        if (ret) {
+            ++this.size;
+        }
+
+        return ret;
+    }
+
+    boolean contains(final long value) {
+        boolean ret;
+
+        if (value == 0) {
+            ret = this.containsZero;
+        } else {
+            int i = (int) Hashing.mix(value) & this.mask;
+
+            while (this.table[i] != 0 && this.table[i] != value) {
+                i = (i + 1) & this.mask;
+            }
+
+            ret = this.table[i] != 0;
+        }
+
+        return ret;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    void forEach(final LongConsumer action) {
+        if (this.containsZero) {
+            action.accept(0);
+        }
+
+        for (final long value : this.table) {
+            if (value != 0) {
+                action.accept(value);
+            }
+        }
+    }
+
+    private void grow() {
+        final long[] oldTable = this.table;
+
+        this.table = new long[oldTable.length * 2];
+        this.mask = this.table.length - 1;
+
+        for (final long value : oldTable) {
+            if (value != 0) {
+                int i = (int) Hashing.mix(value) & this.mask;
+
+                while (this.table[i] != 0) {
+                    i = (i + 1) & this.mask;
+                }
+
+                this.table[i] = value;
+            }
+        }
+    }
+}
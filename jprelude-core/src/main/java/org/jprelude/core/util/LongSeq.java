@@ -0,0 +1,231 @@
+package org.jprelude.core.util;
+
+import java.util.LongSummaryStatistics;
+import java.util.Objects;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+@FunctionalInterface
+public interface LongSeq {
+    LongStream stream();
+
+    default LongSeq sequential() {
+        return () -> {
+            final LongStream stream = this.stream();
+
+            return stream.isParallel() ? stream.sequential() : stream;
+        };
+    }
+
+    default LongSeq parallel() {
+        return () -> {
+            final LongStream stream = this.stream();
+
+            return stream.isParallel() ? stream : stream.parallel();
+        };
+    }
+
+    default LongSeq map(final LongUnaryOperator f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().map(f);
+    }
+
+    default <R> Seq<R> mapToObj(final LongFunction<? extends R> f) {
+        Objects.requireNonNull(f);
+
+        return Seq.from(() -> this.stream().mapToObj(f));
+    }
+
+    default IntSeq mapToInt(final LongToIntFunction f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().mapToInt(f);
+    }
+
+    default DoubleSeq mapToDouble(final LongToDoubleFunction f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().mapToDouble(f);
+    }
+
+    default LongSeq flatMap(final LongFunction<? extends LongSeq> f) {
+        Objects.requireNonNull(f);
+
+        return () -> this.stream().flatMap(v -> f.apply(v).stream());
+    }
+
+    default LongSeq filter(final LongPredicate pred) {
+        Objects.requireNonNull(pred);
+
+        return () -> this.stream().filter(pred);
+    }
+
+    default LongSeq reject(final LongPredicate pred) {
+        Objects.requireNonNull(pred);
+
+        return () -> this.stream().filter(v -> !pred.test(v));
+    }
+
+    default LongSeq take(final long n) {
+        return () -> this.stream().limit(n);
+    }
+
+    default LongSeq skip(final long n) {
+        return () -> this.stream().skip(n);
+    }
+
+    default LongSeq distinct() {
+        return () -> this.stream().distinct();
+    }
+
+    default LongSeq sorted() {
+        return () -> this.stream().sorted();
+    }
+
+    default LongSeq peek(final LongConsumer action) {
+        Objects.requireNonNull(action);
+
+        return () -> this.stream().peek(action);
+    }
+
+    default Seq<Long> boxed() {
+        return Seq.from(() -> this.stream().boxed());
+    }
+
+    default DoubleSeq asDoubleSeq() {
+        return () -> this.stream().asDoubleStream();
+    }
+
+    default long sum() {
+        return SeqSupport.evaluate(this.stream(), LongStream::sum);
+    }
+
+    default OptionalLong min() {
+        return SeqSupport.evaluate(this.stream(), LongStream::min);
+    }
+
+    default OptionalLong max() {
+        return SeqSupport.evaluate(this.stream(), LongStream::max);
+    }
+
+    default OptionalDouble average() {
+        return SeqSupport.evaluate(this.stream(), LongStream::average);
+    }
+
+    default LongSummaryStatistics summaryStatistics() {
+        return SeqSupport.evaluate(this.stream(), LongStream::summaryStatistics);
+    }
+
+    default long count() {
+        return SeqSupport.evaluate(this.stream(), LongStream::count);
+    }
+
+    default long reduce(final long identity, final LongBinaryOperator accumulator) {
+        Objects.requireNonNull(accumulator);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.reduce(identity, accumulator));
+    }
+
+    default OptionalLong reduce(final LongBinaryOperator accumulator) {
+        Objects.requireNonNull(accumulator);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.reduce(accumulator));
+    }
+
+    default boolean anyMatch(final LongPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.anyMatch(predicate));
+    }
+
+    default boolean allMatch(final LongPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.allMatch(predicate));
+    }
+
+    default boolean noneMatch(final LongPredicate predicate) {
+        Objects.requireNonNull(predicate);
+
+        return SeqSupport.evaluate(this.stream(), stream -> stream.noneMatch(predicate));
+    }
+
+    default OptionalLong findFirst() {
+        return SeqSupport.evaluate(this.stream(), LongStream::findFirst);
+    }
+
+    default void forEach(final LongConsumer action) {
+        Objects.requireNonNull(action);
+
+        SeqSupport.run(this.stream(), stream -> stream.forEach(action));
+    }
+
+    default long[] toArray() {
+        return SeqSupport.evaluate(this.stream(), LongStream::toArray);
+    }
+
+    // Static factories
+
+    static LongSeq empty() {
+        return () -> LongStream.empty();
+    }
+
+    static LongSeq of(final long... values) {
+        return LongSeq.from(values);
+    }
+
+    static LongSeq from(final long[] values) {
+        return values == null
+                ? LongSeq.empty()
+                : () -> LongStream.of(values);
+    }
+
+    static LongSeq range(final long start, final long end) {
+        return () -> LongStream.range(start, end);
+    }
+
+    static LongSeq rangeClosed(final long start, final long end) {
+        return () -> LongStream.rangeClosed(start, end);
+    }
+
+    static LongSeq iterate(final long seed, final LongUnaryOperator f) {
+        Objects.requireNonNull(f);
+
+        return () -> LongStream.iterate(seed, f);
+    }
+
+    static <S> LongSeq unfold(final Supplier<S> stateSupplier, final ToLongFunction<? super S> step) {
+        return LongSeq.unfold(stateSupplier, step, null);
+    }
+
+    static <S> LongSeq unfold(
+            final Supplier<S> stateSupplier,
+            final ToLongFunction<? super S> step,
+            final ObjLongConsumer<S> jump) {
+
+        Objects.requireNonNull(stateSupplier);
+        Objects.requireNonNull(step);
+
+        return () -> StreamSupport.longStream(new UnfoldSpliterator.LongUnfold<S>(stateSupplier, step, jump), false);
+    }
+
+    static LongSeq generate(final LongSupplier supplier) {
+        Objects.requireNonNull(supplier);
+
+        return () -> LongStream.generate(supplier);
+    }
+}
@@ -0,0 +1,220 @@
+package org.jprelude.core.util;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Seq that caches the elements of the underlying sequence as they are
+ * pulled. The underlying sequence is traversed at most once, no matter how
+ * many (possibly concurrent) consumers replay it. The cached prefix is
+ * read without locking, only advancing the underlying sequence is
+ * serialized.
+ */
+final class MemoizedSeq<T> implements Seq<T> {
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final Seq<T> source;
+    private final Object lock;
+    private volatile Object[][] chunks;
+    private volatile long size;
+    private volatile boolean completed;
+    private Stream<T> sourceStream;
+    private Spliterator<T> sourceSpliterator;
+    private Throwable failure;
+
+    MemoizedSeq(final Seq<T> source) {
+        assert source != null;
+
+        this.source = source;
+        this.lock = new Object();
+        this.chunks = new Object[16][];
+        this.size = 0;
+        this.completed = false;
+        this.sourceStream = null;
+        this.sourceSpliterator = null;
+        this.failure = null;
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return StreamSupport.stream(new Replay(), false);
+    }
+
+    @Override
+    public long count() {
+        this.fetch(Long.MAX_VALUE);
+        return this.size;
+    }
+
+    @Override
+    public Seq<T> force() {
+        this.fetch(Long.MAX_VALUE);
+        return this;
+    }
+
+    @Override
+    public Seq<T> forceOnDemand() {
+        return this;
+    }
+
+    /**
+     * Makes sure that the element at the given position has been cached,
+     * if there is one. Returns false if the underlying sequence has less
+     * elements.
+     */
+    private boolean fetch(final long pos) {
+        synchronized (this.lock) {
+            while (this.size <= pos && !this.completed) {
+                this.advanceSource();
+            }
+
+            return pos < this.size;
+        }
+    }
+
+    private void advanceSource() {
+        if (this.failure instanceof RuntimeException) {
+            throw (RuntimeException) this.failure;
+        } else if (this.failure instanceof Error) {
+            throw (Error) this.failure;
+        }
+
+        try {
+            if (this.sourceSpliterator == null) {
+                this.sourceStream = this.source.sequential().stream();
+                this.sourceSpliterator = this.sourceStream.spliterator();
+            }
+
+            if (!this.sourceSpliterator.tryAdvance(this::cache)) {
+                this.completed = true;
+                this.closeSource();
+            }
+        } catch (final RuntimeException | Error e) {
+            this.failure = e;
+
+            try {
+                this.closeSource();
+            } catch (final RuntimeException e2) {
+                e.addSuppressed(e2);
+            }
+
+            throw e;
+        }
+    }
+
+    private void closeSource() {
+        final Stream<T> stream = this.sourceStream;
+
+        this.sourceStream = null;
+        this.sourceSpliterator = null;
+
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void cache(final T value) {
+        final long pos = this.size;
+        final int chunkIdx = (int) (pos >>> CHUNK_SHIFT);
+        Object[][] chunkArray = this.chunks;
+
+        if (chunkIdx >= chunkArray.length) {
+            chunkArray = Arrays.copyOf(chunkArray, chunkArray.length * 2);
+        }
+
+        if (chunkArray[chunkIdx] == null) {
+            chunkArray[chunkIdx] = new Object[CHUNK_SIZE];
+        }
+
+        chunkArray[chunkIdx][(int) (pos & CHUNK_MASK)] = value;
+
+        // Publish the chunks before the new size, readers check the size first
+        this.chunks = chunkArray;
+        this.size = pos + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(final long pos) {
+        return (T) this.chunks[(int) (pos >>> CHUNK_SHIFT)][(int) (pos & CHUNK_MASK)];
+    }
+
+    private final class Replay implements Spliterator<T> {
+        private long pos;
+        private long fence;
+
+        Replay() {
+            // Once everything is cached the replay can be sized and split
+            this(0, MemoizedSeq.this.completed ? MemoizedSeq.this.size : -1);
+        }
+
+        private Replay(final long pos, final long fence) {
+            this.pos = pos;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            final boolean ret;
+
+            if (this.fence >= 0) {
+                ret = this.pos < this.fence;
+            } else {
+                ret = this.pos < MemoizedSeq.this.size || MemoizedSeq.this.fetch(this.pos);
+            }
+
+            if (ret) {
+                action.accept(MemoizedSeq.this.get(this.pos++));
+            }
+
+            return ret;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            boolean proceed = true;
+
+            while (proceed) {
+                final long available = this.fence >= 0 ? this.fence : MemoizedSeq.this.size;
+
+                while (this.pos < available) {
+                    action.accept(MemoizedSeq.this.get(this.pos++));
+                }
+
+                proceed = this.fence < 0 && MemoizedSeq.this.fetch(this.pos);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> ret = null;
+
+            if (this.fence >= 0) {
+                final long mid = (this.pos + this.fence) >>> 1;
+
+                if (this.pos < mid) {
+                    ret = new Replay(this.pos, mid);
+                    this.pos = mid;
+                }
+            }
+
+            return ret;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.fence >= 0 ? this.fence - this.pos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return this.fence >= 0
+                    ? Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED
+                    : Spliterator.ORDERED;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.jprelude.core.util;
+
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator that measures the elements passing through it. Each split
+ * counts in plain local fields and flushes them regularly into the
+ * shared stage metrics, so the metering is cheap even in parallel. The
+ * size is not reported, otherwise terminal operations like count() could
+ * skip the traversal and nothing would be measured.
+ */
+final class MeteredSpliterator<T> implements CloseableSpliterator<T>, Consumer<T> {
+    private static final int FLUSH_INTERVAL = 1 << 10;
+
+    private final Spliterator<T> source;
+    private final StageMetrics metrics;
+    private final MetricsSink sink;
+    private final Queue<MeteredSpliterator<T>> splits;
+    private Consumer<? super T> action;
+    private long elementCount;
+    private long upstreamNanos;
+    private long downstreamNanos;
+    private long lastNanos;
+    private boolean finished;
+
+    MeteredSpliterator(final Spliterator<T> source, final StageMetrics metrics, final MetricsSink sink) {
+        this(source, metrics, sink, new ConcurrentLinkedQueue<>());
+    }
+
+    private MeteredSpliterator(
+            final Spliterator<T> source,
+            final StageMetrics metrics,
+            final MetricsSink sink,
+            final Queue<MeteredSpliterator<T>> splits) {
+
+        assert source != null;
+        assert metrics != null;
+        assert sink != null;
+        assert splits != null;
+
+        this.source = source;
+        this.metrics = metrics;
+        this.sink = sink;
+        this.splits = splits;
+        this.action = null;
+        this.elementCount = 0;
+        this.upstreamNanos = 0;
+        this.downstreamNanos = 0;
+        this.lastNanos = 0;
+        this.finished = false;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        if (this.lastNanos == 0) {
+            this.lastNanos = System.nanoTime();
+            this.metrics.started(this.lastNanos);
+        }
+
+        this.action = action;
+
+        final boolean ret = this.source.tryAdvance(this);
+
+        this.action = null;
+
+        if (!ret) {
+            this.finish();
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        this.lastNanos = System.nanoTime();
+        this.metrics.started(this.lastNanos);
+        this.action = action;
+
+        try {
+            this.source.forEachRemaining(this);
+        } finally {
+            this.action = null;
+        }
+
+        this.finish();
+    }
+
+    @Override
+    public void accept(final T value) {
+        final long arrivalNanos = System.nanoTime();
+
+        this.upstreamNanos += arrivalNanos - this.lastNanos;
+        this.action.accept(value);
+        this.lastNanos = System.nanoTime();
+        this.downstreamNanos += this.lastNanos - arrivalNanos;
+
+        if (++this.elementCount == FLUSH_INTERVAL) {
+            this.flush();
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        final Spliterator<T> prefix = this.source.trySplit();
+        final Spliterator<T> ret;
+
+        if (prefix == null) {
+            ret = null;
+        } else {
+            final MeteredSpliterator<T> split = new MeteredSpliterator<>(prefix, this.metrics, this.sink, this.splits);
+
+            this.metrics.splitAdded();
+            this.splits.add(split);
+            ret = split;
+        }
+
+        return ret;
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.source.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return this.source.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED);
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return this.source.getComparator();
+    }
+
+    /**
+     * Flushes the counts of this spliterator and of all spliterators that
+     * have been split off, as splits which have been stopped early by a
+     * short-circuiting operation never finish. The stream is closed after
+     * the terminal operation has returned, so no split is in use anymore.
+     */
+    @Override
+    public void close() {
+        for (final MeteredSpliterator<T> split : this.splits) {
+            split.flush();
+        }
+
+        this.flush();
+
+        if (this.metrics.complete()) {
+            this.sink.completed(this.metrics);
+        }
+    }
+
+    private void finish() {
+        if (!this.finished) {
+            this.finished = true;
+            this.upstreamNanos += System.nanoTime() - this.lastNanos;
+            this.flush();
+
+            if (this.metrics.splitFinished() && this.metrics.complete()) {
+                this.sink.completed(this.metrics);
+            }
+        }
+    }
+
+    private void flush() {
+        this.metrics.add(this.elementCount, this.upstreamNanos, this.downstreamNanos);
+        this.elementCount = 0;
+        this.upstreamNanos = 0;
+        this.downstreamNanos = 0;
+    }
+}
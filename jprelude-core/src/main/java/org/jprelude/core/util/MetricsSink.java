@@ -0,0 +1,23 @@
+package org.jprelude.core.util;
+
+/**
+ * Receives the metrics of metered stages. started is called when the
+ * traversal of a stage begins (the metrics are updated live from then on)
+ * and completed when the stage has been traversed completely or its
+ * stream has been closed.
+ */
+@FunctionalInterface
+public interface MetricsSink {
+    default void started(final StageMetrics metrics) {
+    }
+
+    void completed(StageMetrics metrics);
+
+    /**
+     * Sink that publishes the metrics of each stage as platform MXBean
+     * named org.jprelude:type=SeqStage,name=[stage name].
+     */
+    static MetricsSink jmx() {
+        return JmxMetricsSink.INSTANCE;
+    }
+}
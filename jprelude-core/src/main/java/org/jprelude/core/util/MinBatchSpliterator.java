@@ -0,0 +1,66 @@
+package org.jprelude.core.util;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator that refuses to split below a minimal batch size.
+ */
+final class MinBatchSpliterator<T> implements Spliterator<T> {
+    private final Spliterator<T> source;
+    private final long minBatchSize;
+
+    MinBatchSpliterator(final Spliterator<T> source, final long minBatchSize) {
+        assert source != null;
+        assert minBatchSize > 0;
+
+        this.source = source;
+        this.minBatchSize = minBatchSize;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        return this.source.tryAdvance(action);
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        this.source.forEachRemaining(action);
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        final Spliterator<T> ret;
+
+        if (this.source.estimateSize() / 2 < this.minBatchSize) {
+            ret = null;
+        } else {
+            final Spliterator<T> prefix = this.source.trySplit();
+
+            ret = prefix == null ? null : new MinBatchSpliterator<>(prefix, this.minBatchSize);
+        }
+
+        return ret;
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.source.estimateSize();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return this.source.getExactSizeIfKnown();
+    }
+
+    @Override
+    public int characteristics() {
+        return this.source.characteristics();
+    }
+
+    @Override
+    public Comparator<? super T> getComparator() {
+        return this.source.getComparator();
+    }
+}
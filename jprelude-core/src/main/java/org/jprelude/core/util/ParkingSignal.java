@@ -0,0 +1,65 @@
+package org.jprelude.core.util;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Wake-up signal for exactly one waiting thread at a time. The waiter
+ * spins and yields for a short while and then parks until another thread
+ * signals. The waiter registers itself before it rechecks its condition
+ * and signalling threads read the registration after they have changed
+ * the state with a volatile write, so no wake-up gets lost.
+ */
+final class ParkingSignal {
+    private static final int SPIN_ROUNDS = 16;
+    private static final int YIELD_ROUNDS = 32;
+
+    private volatile Thread waiter;
+
+    ParkingSignal() {
+        this.waiter = null;
+    }
+
+    /**
+     * Waits until the given condition holds. The condition must only
+     * depend on volatile state. Throws a SeqCancellationException if the
+     * waiting thread is interrupted, the interrupt flag is kept.
+     */
+    void await(final BooleanSupplier condition) {
+        int round = 0;
+
+        while (!condition.getAsBoolean()) {
+            if (round < SPIN_ROUNDS) {
+                ++round;
+            } else if (round < YIELD_ROUNDS) {
+                ++round;
+                Thread.yield();
+            } else {
+                this.waiter = Thread.currentThread();
+
+                try {
+                    if (!condition.getAsBoolean()) {
+                        LockSupport.park(this);
+                    }
+                } finally {
+                    this.waiter = null;
+                }
+
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new SeqCancellationException("Interrupted while waiting");
+                }
+            }
+        }
+    }
+
+    /**
+     * Wakes up the waiting thread (if any).
+     */
+    void signal() {
+        final Thread thread = this.waiter;
+
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
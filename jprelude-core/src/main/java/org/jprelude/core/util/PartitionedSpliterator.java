@@ -0,0 +1,264 @@
+package org.jprelude.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Spliterator that routes the elements of the underlying spliterator by
+ * the hash of their keys to a fixed number of lanes. Each lane processes
+ * its elements sequentially on its own thread, so elements with the same
+ * key keep their order while different keys are processed in parallel.
+ * The results of the lanes are interleaved round robin, taking one result
+ * from each lane that has one ready (forEachRemaining takes up to a
+ * buffer full per lane). The router and all lanes have to run at the same
+ * time, tasks that an executor does not start in time get a dedicated
+ * thread. The first failure of the router or of any lane is rethrown
+ * downstream.
+ */
+final class PartitionedSpliterator<T, R> extends Spliterators.AbstractSpliterator<R>
+        implements CloseableSpliterator<R> {
+
+    private static final int BUFFER_SIZE = 256;
+
+    private final Spliterator<T> source;
+    private final Function<? super T, ?> keyFn;
+    private final Function<? super Seq<T>, ? extends Seq<R>> laneFn;
+    private final Executor executor;
+    private final List<SpscChannel<T>> inputs;
+    private final List<SpscChannel<R>> outputs;
+    private final ParkingSignal outputSignal;
+    private final AtomicReference<Throwable> failure;
+    private final CountDownLatch terminated;
+    private volatile boolean cancelled;
+    private boolean started;
+    private int nextLane;
+
+    PartitionedSpliterator(
+            final Spliterator<T> source,
+            final Function<? super T, ?> keyFn,
+            final int partitions,
+            final Function<? super Seq<T>, ? extends Seq<R>> laneFn,
+            final Executor executor) {
+
+        super(Long.MAX_VALUE, 0);
+
+        assert keyFn != null;
+        assert partitions > 0;
+        assert laneFn != null;
+
+        this.source = source;
+        this.keyFn = keyFn;
+        this.laneFn = laneFn;
+        this.executor = executor;
+        this.inputs = new ArrayList<>(partitions);
+        this.outputs = new ArrayList<>(partitions);
+        this.outputSignal = new ParkingSignal();
+        this.failure = new AtomicReference<>(null);
+        this.terminated = new CountDownLatch(partitions + 1);
+        this.cancelled = false;
+        this.started = false;
+        this.nextLane = 0;
+
+        for (int i = 0; i < partitions; ++i) {
+            this.inputs.add(new SpscChannel<>(BUFFER_SIZE));
+            this.outputs.add(new SpscChannel<>(BUFFER_SIZE, this.outputSignal));
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+        this.start();
+
+        final int partitions = this.outputs.size();
+        boolean ret = false;
+        boolean done = false;
+
+        while (!ret && !done) {
+            this.rethrowFailure();
+
+            // Round robin, so no lane is starved
+            for (int i = 0; !ret && i < partitions; ++i) {
+                final int lane = (this.nextLane + i) % partitions;
+
+                if (this.outputs.get(lane).poll(action, 1) == 1) {
+                    this.nextLane = lane + 1;
+                    ret = true;
+                }
+            }
+
+            if (!ret) {
+                done = this.isDrained();
+
+                if (!done) {
+                    this.outputSignal.await(this::isReadable);
+                }
+            }
+        }
+
+        this.rethrowFailure();
+
+        return ret;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super R> action) {
+        this.start();
+
+        boolean done = false;
+
+        while (!done) {
+            int count = 0;
+
+            this.rethrowFailure();
+
+            for (final SpscChannel<R> output : this.outputs) {
+                count += output.poll(action, BUFFER_SIZE);
+            }
+
+            if (count == 0) {
+                done = this.isDrained();
+
+                if (!done) {
+                    this.outputSignal.await(this::isReadable);
+                }
+            }
+        }
+
+        this.rethrowFailure();
+    }
+
+    @Override
+    public void close() {
+        this.cancelled = true;
+        this.outputs.forEach(SpscChannel::cancel);
+
+        if (this.started) {
+            // The source must not be closed while the router still uses it
+            SeqSupport.awaitUninterruptibly(this.terminated);
+        }
+    }
+
+    private void start() {
+        if (!this.started) {
+            final List<Runnable> tasks = new ArrayList<>(this.inputs.size() + 1);
+
+            this.started = true;
+            tasks.add(this::route);
+
+            for (int i = 0; i < this.inputs.size(); ++i) {
+                final int lane = i;
+
+                tasks.add(() -> this.process(lane));
+            }
+
+            try {
+                SeqSupport.startConcurrently(tasks, this.executor, "jprelude-partition", this.terminated);
+            } catch (final RuntimeException | Error e) {
+                // Release the router and the lanes that are running already,
+                // the lanes may wait for a router that has not been started
+                this.inputs.forEach(SpscChannel::cancel);
+                this.inputs.forEach(input -> input.finish(null));
+
+                try {
+                    this.close();
+                } catch (final RuntimeException e2) {
+                    e.addSuppressed(e2);
+                }
+
+                throw e;
+            }
+        }
+    }
+
+    private void route() {
+        final int partitions = this.inputs.size();
+        SeqCancellationException cancellation = null;
+
+        // A lane that has stopped early does not need more elements
+        final Consumer<T> router = value -> {
+            final long hash = Hashing.hash(this.keyFn.apply(value));
+
+            this.inputs.get((int) Math.floorMod(hash, (long) partitions)).put(value);
+        };
+
+        try {
+            while (!this.cancelled
+                    && this.failure.get() == null
+                    && this.source.tryAdvance(router)) {
+                // keep on routing
+            }
+        } catch (final RuntimeException | Error e) {
+            this.failure.compareAndSet(null, e);
+            cancellation = new SeqCancellationException("Partitioned processing has been aborted");
+        } finally {
+            for (final SpscChannel<T> input : this.inputs) {
+                input.finish(cancellation);
+            }
+
+            this.terminated.countDown();
+        }
+    }
+
+    private void process(final int lane) {
+        final SpscChannel<T> input = this.inputs.get(lane);
+        final SpscChannel<R> output = this.outputs.get(lane);
+
+        try (final Stream<R> results = this.laneFn.apply(input.toSeq()).stream()) {
+            final Spliterator<R> spliterator = results.spliterator();
+
+            while (!output.isCancelled() && spliterator.tryAdvance(output::put)) {
+                // keep on processing
+            }
+        } catch (final RuntimeException | Error e) {
+            this.failure.compareAndSet(null, e);
+        } finally {
+            input.cancel();
+            output.finish(null);
+            this.terminated.countDown();
+        }
+    }
+
+    /**
+     * Returns true if any lane has got a result, if all lanes have finished
+     * or if the processing has failed.
+     */
+    private boolean isReadable() {
+        boolean hasResults = false;
+        boolean allFinished = true;
+
+        for (final SpscChannel<R> output : this.outputs) {
+            hasResults = hasResults || !output.isEmpty();
+            allFinished = allFinished && output.isReadable();
+        }
+
+        return hasResults || allFinished || this.failure.get() != null;
+    }
+
+    private boolean isDrained() {
+        boolean ret = true;
+
+        for (int i = 0; ret && i < this.outputs.size(); ++i) {
+            ret = this.outputs.get(i).isDrained();
+        }
+
+        return ret;
+    }
+
+    private void rethrowFailure() {
+        final Throwable cause = this.failure.get();
+
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package org.jprelude.core.util;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Sequence built from a chain of map, filter, peek, take and skip
+ * operations on a source sequence. Appending an operation to a pipeline
+ * returns a new pipeline with one more stage instead of another layer of
+ * streams. Sequential traversals push the source elements through one
+ * fused chain of sinks, parallel ones fall back to the corresponding
+ * stream operations.
+ */
+final class Pipeline<S, T> implements Seq<T> {
+    private static final int MAP = 0;
+    private static final int FILTER = 1;
+    private static final int PEEK = 2;
+    private static final int TAKE = 3;
+    private static final int SKIP = 4;
+
+    private final Seq<S> source;
+    private final Stage[] stages;
+
+    private Pipeline(final Seq<S> source, final Stage[] stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    static <T, R> Seq<R> map(final Seq<T> seq, final Function<? super T, ? extends R> f) {
+        return Pipeline.append(seq, new Stage(MAP, f, 0));
+    }
+
+    static <T> Seq<T> filter(final Seq<T> seq, final Predicate<? super T> pred) {
+        return Pipeline.append(seq, new Stage(FILTER, pred, 0));
+    }
+
+    static <T> Seq<T> peek(final Seq<T> seq, final Consumer<? super T> action) {
+        return Pipeline.append(seq, new Stage(PEEK, action, 0));
+    }
+
+    static <T> Seq<T> take(final Seq<T> seq, final long n) {
+        return Pipeline.append(seq, new Stage(TAKE, null, n));
+    }
+
+    static <T> Seq<T> skip(final Seq<T> seq, final long n) {
+        return Pipeline.append(seq, new Stage(SKIP, null, n));
+    }
+
+    @Override
+    public Stream<T> stream() {
+        final Stream<S> stream = this.source.stream();
+
+        return stream.isParallel()
+                ? this.applyTo(stream)
+                : SeqSupport.derive(stream, spliterator -> new FusedSpliterator<>(spliterator, this.stages));
+    }
+
+    private static <T, R> Seq<R> append(final Seq<T> seq, final Stage stage) {
+        final Seq<R> ret;
+
+        if (seq instanceof Pipeline) {
+            final Pipeline<?, T> pipeline = (Pipeline<?, T>) seq;
+            final Stage[] stages = Arrays.copyOf(pipeline.stages, pipeline.stages.length + 1);
+
+            stages[pipeline.stages.length] = stage;
+            ret = new Pipeline<>(pipeline.source, stages);
+        } else {
+            ret = new Pipeline<>(seq, new Stage[] { stage });
+        }
+
+        return ret;
+    }
+
+    // The stage functions have been type checked when the stages were added
+    @SuppressWarnings("unchecked")
+    private Stream<T> applyTo(final Stream<S> stream) {
+        Stream<Object> ret = (Stream<Object>) stream;
+
+        for (final Stage stage : this.stages) {
+            switch (stage.kind) {
+                case MAP:
+                    ret = ret.map((Function<Object, Object>) stage.function);
+                    break;
+
+                case FILTER:
+                    ret = ret.filter((Predicate<Object>) stage.function);
+                    break;
+
+                case PEEK:
+                    ret = ret.peek((Consumer<Object>) stage.function);
+                    break;
+
+                case TAKE:
+                    ret = ret.limit(stage.n);
+                    break;
+
+                default:
+                    ret = ret.skip(stage.n);
+            }
+        }
+
+        return (Stream<T>) ret;
+    }
+
+    private static final class Stage {
+        private final int kind;
+        private final Object function;
+        private final long n;
+
+        Stage(final int kind, final Object function, final long n) {
+            this.kind = kind;
+            this.function = function;
+            this.n = n;
+        }
+    }
+
+    /**
+     * Spliterator that pushes the source elements through the fused sinks
+     * of all stages. Each sink class calls its downstream sink directly.
+     */
+    private static final class FusedSpliterator<S, T> extends Spliterators.AbstractSpliterator<T> {
+        private final Spliterator<S> source;
+        private final Stage[] stages;
+        private final Sink<S> head;
+        private final Terminal<T> terminal;
+        private final boolean stateless;
+        private final boolean shortCircuiting;
+        private final int characteristics;
+
+        // The stage functions have been type checked when the stages were added
+        @SuppressWarnings("unchecked")
+        FusedSpliterator(final Spliterator<S> source, final Stage[] stages) {
+            super(Long.MAX_VALUE, 0);
+
+            Sink<Object> sink = new Terminal<>();
+            boolean stateless = true;
+            boolean shortCircuiting = false;
+            boolean sizePreserving = true;
+
+            this.terminal = (Terminal<T>) sink;
+
+            for (int i = stages.length - 1; i >= 0; --i) {
+                final Stage stage = stages[i];
+
+                switch (stage.kind) {
+                    case MAP:
+                        sink = new MapSink<>((Function<Object, Object>) stage.function, sink);
+                        break;
+
+                    case FILTER:
+                        sink = new FilterSink<>((Predicate<Object>) stage.function, sink);
+                        sizePreserving = false;
+                        break;
+
+                    case PEEK:
+                        sink = new PeekSink<>((Consumer<Object>) stage.function, sink);
+                        break;
+
+                    case TAKE:
+                        sink = new TakeSink<>(stage.n, sink);
+                        stateless = false;
+                        shortCircuiting = true;
+                        sizePreserving = false;
+                        break;
+
+                    default:
+                        sink = new SkipSink<>(stage.n, sink);
+                        stateless = false;
+                        sizePreserving = false;
+                }
+            }
+
+            this.source = source;
+            this.stages = stages;
+            this.head = (Sink<S>) sink;
+            this.stateless = stateless;
+            this.shortCircuiting = shortCircuiting;
+            this.characteristics = source.characteristics()
+                    & (sizePreserving ? Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED : Spliterator.ORDERED);
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final Spliterator<T> ret;
+
+            if (!this.stateless) {
+                // take and skip depend on the position, so split in encounter order
+                ret = super.trySplit();
+            } else {
+                final Spliterator<S> prefix = this.source.trySplit();
+
+                ret = prefix == null ? null : new FusedSpliterator<>(prefix, this.stages);
+            }
+
+            return ret;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.stateless ? this.source.estimateSize() : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return this.characteristics;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            final Terminal<T> terminal = this.terminal;
+
+            terminal.found = false;
+
+            while (!terminal.found && !this.head.isDone() && this.source.tryAdvance(this.head)) {
+            }
+
+            final boolean ret = terminal.found;
+
+            if (ret) {
+                final T value = terminal.value;
+
+                terminal.value = null;
+                terminal.found = false;
+                action.accept(value);
+            }
+
+            return ret;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            this.terminal.action = action;
+
+            try {
+                if (this.shortCircuiting) {
+                    while (!this.head.isDone() && this.source.tryAdvance(this.head)) {
+                    }
+                } else {
+                    this.source.forEachRemaining(this.head);
+                }
+            } finally {
+                this.terminal.action = null;
+            }
+        }
+    }
+
+    private abstract static class Sink<T> implements Consumer<T> {
+        boolean isDone() {
+            return false;
+        }
+    }
+
+    /**
+     * Last sink of the chain. It either hands the values directly to the
+     * action of a bulk traversal or buffers a single value for tryAdvance.
+     */
+    private static final class Terminal<T> extends Sink<T> {
+        private Consumer<? super T> action;
+        private boolean found;
+        private T value;
+
+        @Override
+        public void accept(final T value) {
+            if (this.action != null) {
+                this.action.accept(value);
+            } else {
+                this.value = value;
+                this.found = true;
+            }
+        }
+    }
+
+    private static final class MapSink<T, R> extends Sink<T> {
+        private final Function<? super T, ? extends R> f;
+        private final Sink<R> downstream;
+
+        MapSink(final Function<? super T, ? extends R> f, final Sink<R> downstream) {
+            this.f = f;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(final T value) {
+            this.downstream.accept(this.f.apply(value));
+        }
+
+        @Override
+        boolean isDone() {
+            return this.downstream.isDone();
+        }
+    }
+
+    private static final class FilterSink<T> extends Sink<T> {
+        private final Predicate<? super T> pred;
+        private final Sink<T> downstream;
+
+        FilterSink(final Predicate<? super T> pred, final Sink<T> downstream) {
+            this.pred = pred;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(final T value) {
+            if (this.pred.test(value)) {
+                this.downstream.accept(value);
+            }
+        }
+
+        @Override
+        boolean isDone() {
+            return this.downstream.isDone();
+        }
+    }
+
+    private static final class PeekSink<T> extends Sink<T> {
+        private final Consumer<? super T> action;
+        private final Sink<T> downstream;
+
+        PeekSink(final Consumer<? super T> action, final Sink<T> downstream) {
+            this.action = action;
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(final T value) {
+            this.action.accept(value);
+            this.downstream.accept(value);
+        }
+
+        @Override
+        boolean isDone() {
+            return this.downstream.isDone();
+        }
+    }
+
+    private static final class TakeSink<T> extends Sink<T> {
+        private final Sink<T> downstream;
+        private long remaining;
+
+        TakeSink(final long n, final Sink<T> downstream) {
+            this.downstream = downstream;
+            this.remaining = n;
+        }
+
+        @Override
+        public void accept(final T value) {
+            if (this.remaining > 0) {
+                --this.remaining;
+                this.downstream.accept(value);
+            }
+        }
+
+        @Override
+        boolean isDone() {
+            return this.remaining == 0 || this.downstream.isDone();
+        }
+    }
+
+    private static final class SkipSink<T> extends Sink<T> {
+        private final Sink<T> downstream;
+        private long remaining;
+
+        SkipSink(final long n, final Sink<T> downstream) {
+            this.downstream = downstream;
+            this.remaining = n;
+        }
+
+        @Override
+        public void accept(final T value) {
+            if (this.remaining > 0) {
+                --this.remaining;
+            } else {
+                this.downstream.accept(value);
+            }
+        }
+
+        @Override
+        boolean isDone() {
+            return this.downstream.isDone();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package org.jprelude.core.util;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Stream of double values that runs all its terminal operations according to
+ * an execution policy, the counterpart of PolicyStream.
+ */
+final class PolicyDoubleStream implements DoubleStream {
+    private final DoubleStream delegate;
+    private final ExecutionPolicy policy;
+
+    PolicyDoubleStream(final DoubleStream delegate, final ExecutionPolicy policy) {
+        assert delegate != null;
+        assert policy != null;
+
+        this.delegate = delegate;
+        this.policy = policy;
+    }
+
+    private DoubleStream wrap(final DoubleStream stream) {
+        return new PolicyDoubleStream(stream, this.policy);
+    }
+
+    // Intermediate operations
+
+    @Override
+    public DoubleStream filter(final DoublePredicate predicate) {
+        return this.wrap(this.delegate.filter(predicate));
+    }
+
+    @Override
+    public DoubleStream map(final DoubleUnaryOperator mapper) {
+        return this.wrap(this.delegate.map(mapper));
+    }
+
+    @Override
+    public <U> Stream<U> mapToObj(final DoubleFunction<? extends U> mapper) {
+        return new PolicyStream<>(this.delegate.mapToObj(mapper), this.policy);
+    }
+
+    @Override
+    public IntStream mapToInt(final DoubleToIntFunction mapper) {
+        return new PolicyIntStream(this.delegate.mapToInt(mapper), this.policy);
+    }
+
+    @Override
+    public LongStream mapToLong(final DoubleToLongFunction mapper) {
+        return new PolicyLongStream(this.delegate.mapToLong(mapper), this.policy);
+    }
+
+    @Override
+    public DoubleStream flatMap(final DoubleFunction<? extends DoubleStream> mapper) {
+        return this.wrap(this.delegate.flatMap(mapper));
+    }
+
+    @Override
+    public DoubleStream distinct() {
+        return this.wrap(this.delegate.distinct());
+    }
+
+    @Override
+    public DoubleStream sorted() {
+        return this.wrap(this.delegate.sorted());
+    }
+
+    @Override
+    public DoubleStream peek(final DoubleConsumer action) {
+        return this.wrap(this.delegate.peek(action));
+    }
+
+    @Override
+    public DoubleStream limit(final long maxSize) {
+        return this.wrap(this.delegate.limit(maxSize));
+    }
+
+    @Override
+    public DoubleStream skip(final long n) {
+        return this.wrap(this.delegate.skip(n));
+    }
+
+    @Override
+    public Stream<Double> boxed() {
+        return new PolicyStream<>(this.delegate.boxed(), this.policy);
+    }
+
+    @Override
+    public DoubleStream sequential() {
+        return this.wrap(this.delegate.sequential());
+    }
+
+    @Override
+    public DoubleStream parallel() {
+        return this.wrap(this.delegate.parallel());
+    }
+
+    @Override
+    public DoubleStream unordered() {
+        return this.wrap(this.delegate.unordered());
+    }
+
+    @Override
+    public DoubleStream onClose(final Runnable closeHandler) {
+        return this.wrap(this.delegate.onClose(closeHandler));
+    }
+
+    // Terminal operations
+
+    @Override
+    public void forEach(final DoubleConsumer action) {
+        this.policy.execute(() -> {
+            this.delegate.forEach(action);
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachOrdered(final DoubleConsumer action) {
+        this.policy.execute(() -> {
+            this.delegate.forEachOrdered(action);
+            return null;
+        });
+    }
+
+    @Override
+    public double[] toArray() {
+        return this.policy.execute(() -> this.delegate.toArray());
+    }
+
+    @Override
+    public double reduce(final double identity, final DoubleBinaryOperator op) {
+        return this.policy.execute(() -> this.delegate.reduce(identity, op));
+    }
+
+    @Override
+    public OptionalDouble reduce(final DoubleBinaryOperator op) {
+        return this.policy.execute(() -> this.delegate.reduce(op));
+    }
+
+    @Override
+    public <R> R collect(
+            final Supplier<R> supplier,
+            final ObjDoubleConsumer<R> accumulator,
+            final BiConsumer<R, R> combiner) {
+
+        return this.policy.execute(() -> this.delegate.collect(supplier, accumulator, combiner));
+    }
+
+    @Override
+    public double sum() {
+        return this.policy.execute(() -> this.delegate.sum());
+    }
+
+    @Override
+    public OptionalDouble min() {
+        return this.policy.execute(() -> this.delegate.min());
+    }
+
+    @Override
+    public OptionalDouble max() {
+        return this.policy.execute(() -> this.delegate.max());
+    }
+
+    @Override
+    public long count() {
+        return this.policy.execute(() -> this.delegate.count());
+    }
+
+    @Override
+    public OptionalDouble average() {
+        return this.policy.execute(() -> this.delegate.average());
+    }
+
+    @Override
+    public DoubleSummaryStatistics summaryStatistics() {
+        return this.policy.execute(() -> this.delegate.summaryStatistics());
+    }
+
+    @Override
+    public boolean anyMatch(final DoublePredicate predicate) {
+        return this.policy.execute(() -> this.delegate.anyMatch(predicate));
+    }
+
+    @Override
+    public boolean allMatch(final DoublePredicate predicate) {
+        return this.policy.execute(() -> this.delegate.allMatch(predicate));
+    }
+
+    @Override
+    public boolean noneMatch(final DoublePredicate predicate) {
+        return this.policy.execute(() -> this.delegate.noneMatch(predicate));
+    }
+
+    @Override
+    public OptionalDouble findFirst() {
+        return this.policy.execute(() -> this.delegate.findFirst());
+    }
+
+    @Override
+    public OptionalDouble findAny() {
+        return this.policy.execute(() -> this.delegate.findAny());
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        return this.delegate.iterator();
+    }
+
+    @Override
+    public Spliterator.OfDouble spliterator() {
+        return this.delegate.spliterator();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return this.delegate.isParallel();
+    }
+
+    @Override
+    public void close() {
+        this.delegate.close();
+    }
+}
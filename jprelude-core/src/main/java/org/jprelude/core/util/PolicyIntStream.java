@@ -0,0 +1,251 @@
+package org.jprelude.core.util;
+
+import java.util.IntSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Stream of int values that runs all its terminal operations according to
+ * an execution policy, the counterpart of PolicyStream.
+ */
+final class PolicyIntStream implements IntStream {
+    private final IntStream delegate;
+    private final ExecutionPolicy policy;
+
+    PolicyIntStream(final IntStream delegate, final ExecutionPolicy policy) {
+        assert delegate != null;
+        assert policy != null;
+
+        this.delegate = delegate;
+        this.policy = policy;
+    }
+
+    private IntStream wrap(final IntStream stream) {
+        return new PolicyIntStream(stream, this.policy);
+    }
+
+    // Intermediate operations
+
+    @Override
+    public IntStream filter(final IntPredicate predicate) {
+        return this.wrap(this.delegate.filter(predicate));
+    }
+
+    @Override
+    public IntStream map(final IntUnaryOperator mapper) {
+        return this.wrap(this.delegate.map(mapper));
+    }
+
+    @Override
+    public <U> Stream<U> mapToObj(final IntFunction<? extends U> mapper) {
+        return new PolicyStream<>(this.delegate.mapToObj(mapper), this.policy);
+    }
+
+    @Override
+    public LongStream mapToLong(final IntToLongFunction mapper) {
+        return new PolicyLongStream(this.delegate.mapToLong(mapper), this.policy);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(final IntToDoubleFunction mapper) {
+        return new PolicyDoubleStream(this.delegate.mapToDouble(mapper), this.policy);
+    }
+
+    @Override
+    public IntStream flatMap(final IntFunction<? extends IntStream> mapper) {
+        return this.wrap(this.delegate.flatMap(mapper));
+    }
+
+    @Override
+    public IntStream distinct() {
+        return this.wrap(this.delegate.distinct());
+    }
+
+    @Override
+    public IntStream sorted() {
+        return this.wrap(this.delegate.sorted());
+    }
+
+    @Override
+    public IntStream peek(final IntConsumer action) {
+        return this.wrap(this.delegate.peek(action));
+    }
+
+    @Override
+    public IntStream limit(final long maxSize) {
+        return this.wrap(this.delegate.limit(maxSize));
+    }
+
+    @Override
+    public IntStream skip(final long n) {
+        return this.wrap(this.delegate.skip(n));
+    }
+
+    @Override
+    public LongStream asLongStream() {
+        return new PolicyLongStream(this.delegate.asLongStream(), this.policy);
+    }
+
+    @Override
+    public DoubleStream asDoubleStream() {
+        return new PolicyDoubleStream(this.delegate.asDoubleStream(), this.policy);
+    }
+
+    @Override
+    public Stream<Integer> boxed() {
+        return new PolicyStream<>(this.delegate.boxed(), this.policy);
+    }
+
+    @Override
+    public IntStream sequential() {
+        return this.wrap(this.delegate.sequential());
+    }
+
+    @Override
+    public IntStream parallel() {
+        return this.wrap(this.delegate.parallel());
+    }
+
+    @Override
+    public IntStream unordered() {
+        return this.wrap(this.delegate.unordered());
+    }
+
+    @Override
+    public IntStream onClose(final Runnable closeHandler) {
+        return this.wrap(this.delegate.onClose(closeHandler));
+    }
+
+    // Terminal operations
+
+    @Override
+    public void forEach(final IntConsumer action) {
+        this.policy.execute(() -> {
+            this.delegate.forEach(action);
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachOrdered(final IntConsumer action) {
+        this.policy.execute(() -> {
+            this.delegate.forEachOrdered(action);
+            return null;
+        });
+    }
+
+    @Override
+    public int[] toArray() {
+        return this.policy.execute(() -> this.delegate.toArray());
+    }
+
+    @Override
+    public int reduce(final int identity, final IntBinaryOperator op) {
+        return this.policy.execute(() -> this.delegate.reduce(identity, op));
+    }
+
+    @Override
+    public OptionalInt reduce(final IntBinaryOperator op) {
+        return this.policy.execute(() -> this.delegate.reduce(op));
+    }
+
+    @Override
+    public <R> R collect(
+            final Supplier<R> supplier,
+            final ObjIntConsumer<R> accumulator,
+            final BiConsumer<R, R> combiner) {
+
+        return this.policy.execute(() -> this.delegate.collect(supplier, accumulator, combiner));
+    }
+
+    @Override
+    public int sum() {
+        return this.policy.execute(() -> this.delegate.sum());
+    }
+
+    @Override
+    public OptionalInt min() {
+        return this.policy.execute(() -> this.delegate.min());
+    }
+
+    @Override
+    public OptionalInt max() {
+        return this.policy.execute(() -> this.delegate.max());
+    }
+
+    @Override
+    public long count() {
+        return this.policy.execute(() -> this.delegate.count());
+    }
+
+    @Override
+    public OptionalDouble average() {
+        return this.policy.execute(() -> this.delegate.average());
+    }
+
+    @Override
+    public IntSummaryStatistics summaryStatistics() {
+        return this.policy.execute(() -> this.delegate.summaryStatistics());
+    }
+
+    @Override
+    public boolean anyMatch(final IntPredicate predicate) {
+        return this.policy.execute(() -> this.delegate.anyMatch(predicate));
+    }
+
+    @Override
+    public boolean allMatch(final IntPredicate predicate) {
+        return this.policy.execute(() -> this.delegate.allMatch(predicate));
+    }
+
+    @Override
+    public boolean noneMatch(final IntPredicate predicate) {
+        return this.policy.execute(() -> this.delegate.noneMatch(predicate));
+    }
+
+    @Override
+    public OptionalInt findFirst() {
+        return this.policy.execute(() -> this.delegate.findFirst());
+    }
+
+    @Override
+    public OptionalInt findAny() {
+        return this.policy.execute(() -> this.delegate.findAny());
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return this.delegate.iterator();
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return this.delegate.spliterator();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return this.delegate.isParallel();
+    }
+
+    @Override
+    public void close() {
+        this.delegate.close();
+    }
+}
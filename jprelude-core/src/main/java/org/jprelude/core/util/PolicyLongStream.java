@@ -0,0 +1,246 @@
+package org.jprelude.core.util;
+
+import java.util.LongSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Stream of long values that runs all its terminal operations according to
+ * an execution policy, the counterpart of PolicyStream.
+ */
+final class PolicyLongStream implements LongStream {
+    private final LongStream delegate;
+    private final ExecutionPolicy policy;
+
+    PolicyLongStream(final LongStream delegate, final ExecutionPolicy policy) {
+        assert delegate != null;
+        assert policy != null;
+
+        this.delegate = delegate;
+        this.policy = policy;
+    }
+
+    private LongStream wrap(final LongStream stream) {
+        return new PolicyLongStream(stream, this.policy);
+    }
+
+    // Intermediate operations
+
+    @Override
+    public LongStream filter(final LongPredicate predicate) {
+        return this.wrap(this.delegate.filter(predicate));
+    }
+
+    @Override
+    public LongStream map(final LongUnaryOperator mapper) {
+        return this.wrap(this.delegate.map(mapper));
+    }
+
+    @Override
+    public <U> Stream<U> mapToObj(final LongFunction<? extends U> mapper) {
+        return new PolicyStream<>(this.delegate.mapToObj(mapper), this.policy);
+    }
+
+    @Override
+    public IntStream mapToInt(final LongToIntFunction mapper) {
+        return new PolicyIntStream(this.delegate.mapToInt(mapper), this.policy);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(final LongToDoubleFunction mapper) {
+        return new PolicyDoubleStream(this.delegate.mapToDouble(mapper), this.policy);
+    }
+
+    @Override
+    public LongStream flatMap(final LongFunction<? extends LongStream> mapper) {
+        return this.wrap(this.delegate.flatMap(mapper));
+    }
+
+    @Override
+    public LongStream distinct() {
+        return this.wrap(this.delegate.distinct());
+    }
+
+    @Override
+    public LongStream sorted() {
+        return this.wrap(this.delegate.sorted());
+    }
+
+    @Override
+    public LongStream peek(final LongConsumer action) {
+        return this.wrap(this.delegate.peek(action));
+    }
+
+    @Override
+    public LongStream limit(final long maxSize) {
+        return this.wrap(this.delegate.limit(maxSize));
+    }
+
+    @Override
+    public LongStream skip(final long n) {
+        return this.wrap(this.delegate.skip(n));
+    }
+
+    @Override
+    public DoubleStream asDoubleStream() {
+        return new PolicyDoubleStream(this.delegate.asDoubleStream(), this.policy);
+    }
+
+    @Override
+    public Stream<Long> boxed() {
+        return new PolicyStream<>(this.delegate.boxed(), this.policy);
+    }
+
+    @Override
+    public LongStream sequential() {
+        return this.wrap(this.delegate.sequential());
+    }
+
+    @Override
+    public LongStream parallel() {
+        return this.wrap(this.delegate.parallel());
+    }
+
+    @Override
+    public LongStream unordered() {
+        return this.wrap(this.delegate.unordered());
+    }
+
+    @Override
+    public LongStream onClose(final Runnable closeHandler) {
+        return this.wrap(this.delegate.onClose(closeHandler));
+    }
+
+    // Terminal operations
+
+    @Override
+    public void forEach(final LongConsumer action) {
+        this.policy.execute(() -> {
+            this.delegate.forEach(action);
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachOrdered(final LongConsumer action) {
+        this.policy.execute(() -> {
+            this.delegate.forEachOrdered(action);
+            return null;
+        });
+    }
+
+    @Override
+    public long[] toArray() {
+        return this.policy.execute(() -> this.delegate.toArray());
+    }
+
+    @Override
+    public long reduce(final long identity, final LongBinaryOperator op) {
+        return this.policy.execute(() -> this.delegate.reduce(identity, op));
+    }
+
+    @Override
+    public OptionalLong reduce(final LongBinaryOperator op) {
+        return this.policy.execute(() -> this.delegate.reduce(op));
+    }
+
+    @Override
+    public <R> R collect(
+            final Supplier<R> supplier,
+            final ObjLongConsumer<R> accumulator,
+            final BiConsumer<R, R> combiner) {
+
+        return this.policy.execute(() -> this.delegate.collect(supplier, accumulator, combiner));
+    }
+
+    @Override
+    public long sum() {
+        return this.policy.execute(() -> this.delegate.sum());
+    }
+
+    @Override
+    public OptionalLong min() {
+        return this.policy.execute(() -> this.delegate.min());
+    }
+
+    @Override
+    public OptionalLong max() {
+        return this.policy.execute(() -> this.delegate.max());
+    }
+
+    @Override
+    public long count() {
+        return this.policy.execute(() -> this.delegate.count());
+    }
+
+    @Override
+    public OptionalDouble average() {
+        return this.policy.execute(() -> this.delegate.average());
+    }
+
+    @Override
+    public LongSummaryStatistics summaryStatistics() {
+        return this.policy.execute(() -> this.delegate.summaryStatistics());
+    }
+
+    @Override
+    public boolean anyMatch(final LongPredicate predicate) {
+        return this.policy.execute(() -> this.delegate.anyMatch(predicate));
+    }
+
+    @Override
+    public boolean allMatch(final LongPredicate predicate) {
+        return this.policy.execute(() -> this.delegate.allMatch(predicate));
+    }
+
+    @Override
+    public boolean noneMatch(final LongPredicate predicate) {
+        return this.policy.execute(() -> this.delegate.noneMatch(predicate));
+    }
+
+    @Override
+    public OptionalLong findFirst() {
+        return this.policy.execute(() -> this.delegate.findFirst());
+    }
+
+    @Override
+    public OptionalLong findAny() {
+        return this.policy.execute(() -> this.delegate.findAny());
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return this.delegate.iterator();
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return this.delegate.spliterator();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return this.delegate.isParallel();
+    }
+
+    @Override
+    public void close() {
+        this.delegate.close();
+    }
+}
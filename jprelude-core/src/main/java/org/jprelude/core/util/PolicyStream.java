@@ -0,0 +1,271 @@
+package org.jprelude.core.util;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Stream that runs all its terminal operations according to an
+ * execution policy. Intermediate operations keep the policy, the ones
+ * that leave the object stream (mapToInt etc.) continue with a primitive
+ * stream that keeps it as well.
+ */
+final class PolicyStream<T> implements Stream<T> {
+    private final Stream<T> delegate;
+    private final ExecutionPolicy policy;
+
+    PolicyStream(final Stream<T> delegate, final ExecutionPolicy policy) {
+        assert delegate != null;
+        assert policy != null;
+
+        this.delegate = delegate;
+        this.policy = policy;
+    }
+
+    Stream<T> getDelegate() {
+        return this.delegate;
+    }
+
+    ExecutionPolicy getPolicy() {
+        return this.policy;
+    }
+
+    private <R> Stream<R> wrap(final Stream<R> stream) {
+        return new PolicyStream<>(stream, this.policy);
+    }
+
+    // Intermediate operations
+
+    @Override
+    public Stream<T> filter(final Predicate<? super T> predicate) {
+        return this.wrap(this.delegate.filter(predicate));
+    }
+
+    @Override
+    public <R> Stream<R> map(final Function<? super T, ? extends R> mapper) {
+        return this.wrap(this.delegate.map(mapper));
+    }
+
+    @Override
+    public IntStream mapToInt(final ToIntFunction<? super T> mapper) {
+        return new PolicyIntStream(this.delegate.mapToInt(mapper), this.policy);
+    }
+
+    @Override
+    public LongStream mapToLong(final ToLongFunction<? super T> mapper) {
+        return new PolicyLongStream(this.delegate.mapToLong(mapper), this.policy);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(final ToDoubleFunction<? super T> mapper) {
+        return new PolicyDoubleStream(this.delegate.mapToDouble(mapper), this.policy);
+    }
+
+    @Override
+    public <R> Stream<R> flatMap(final Function<? super T, ? extends Stream<? extends R>> mapper) {
+        return this.wrap(this.delegate.flatMap(mapper));
+    }
+
+    @Override
+    public IntStream flatMapToInt(final Function<? super T, ? extends IntStream> mapper) {
+        return new PolicyIntStream(this.delegate.flatMapToInt(mapper), this.policy);
+    }
+
+    @Override
+    public LongStream flatMapToLong(final Function<? super T, ? extends LongStream> mapper) {
+        return new PolicyLongStream(this.delegate.flatMapToLong(mapper), this.policy);
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(final Function<? super T, ? extends DoubleStream> mapper) {
+        return new PolicyDoubleStream(this.delegate.flatMapToDouble(mapper), this.policy);
+    }
+
+    @Override
+    public Stream<T> distinct() {
+        return this.wrap(this.delegate.distinct());
+    }
+
+    @Override
+    public Stream<T> sorted() {
+        return this.wrap(this.delegate.sorted());
+    }
+
+    @Override
+    public Stream<T> sorted(final Comparator<? super T> comparator) {
+        return this.wrap(this.delegate.sorted(comparator));
+    }
+
+    @Override
+    public Stream<T> peek(final Consumer<? super T> action) {
+        return this.wrap(this.delegate.peek(action));
+    }
+
+    @Override
+    public Stream<T> limit(final long maxSize) {
+        return this.wrap(this.delegate.limit(maxSize));
+    }
+
+    @Override
+    public Stream<T> skip(final long n) {
+        return this.wrap(this.delegate.skip(n));
+    }
+
+    @Override
+    public Stream<T> sequential() {
+        return this.wrap(this.delegate.sequential());
+    }
+
+    @Override
+    public Stream<T> parallel() {
+        return this.wrap(this.delegate.parallel());
+    }
+
+    @Override
+    public Stream<T> unordered() {
+        return this.wrap(this.delegate.unordered());
+    }
+
+    @Override
+    public Stream<T> onClose(final Runnable closeHandler) {
+        return this.wrap(this.delegate.onClose(closeHandler));
+    }
+
+    // Terminal operations
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        this.policy.execute(() -> {
+            this.delegate.forEach(action);
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachOrdered(final Consumer<? super T> action) {
+        this.policy.execute(() -> {
+            this.delegate.forEachOrdered(action);
+            return null;
+        });
+    }
+
+    @Override
+    public Object[] toArray() {
+        return this.policy.execute(() -> this.delegate.toArray());
+    }
+
+    @Override
+    public <A> A[] toArray(final IntFunction<A[]> generator) {
+        return this.policy.execute(() -> this.delegate.toArray(generator));
+    }
+
+    @Override
+    public T reduce(final T identity, final BinaryOperator<T> accumulator) {
+        return this.policy.execute(() -> this.delegate.reduce(identity, accumulator));
+    }
+
+    @Override
+    public Optional<T> reduce(final BinaryOperator<T> accumulator) {
+        return this.policy.execute(() -> this.delegate.reduce(accumulator));
+    }
+
+    @Override
+    public <U> U reduce(
+            final U identity,
+            final BiFunction<U, ? super T, U> accumulator,
+            final BinaryOperator<U> combiner) {
+
+        return this.policy.execute(() -> this.delegate.reduce(identity, accumulator, combiner));
+    }
+
+    @Override
+    public <R> R collect(
+            final Supplier<R> supplier,
+            final BiConsumer<R, ? super T> accumulator,
+            final BiConsumer<R, R> combiner) {
+
+        return this.policy.execute(() -> this.delegate.collect(supplier, accumulator, combiner));
+    }
+
+    @Override
+    public <R, A> R collect(final Collector<? super T, A, R> collector) {
+        return this.policy.execute(() -> this.delegate.collect(collector));
+    }
+
+    @Override
+    public Optional<T> min(final Comparator<? super T> comparator) {
+        return this.policy.execute(() -> this.delegate.min(comparator));
+    }
+
+    @Override
+    public Optional<T> max(final Comparator<? super T> comparator) {
+        return this.policy.execute(() -> this.delegate.max(comparator));
+    }
+
+    @Override
+    public long count() {
+        return this.policy.execute(() -> this.delegate.count());
+    }
+
+    @Override
+    public boolean anyMatch(final Predicate<? super T> predicate) {
+        return this.policy.execute(() -> this.delegate.anyMatch(predicate));
+    }
+
+    @Override
+    public boolean allMatch(final Predicate<? super T> predicate) {
+        return this.policy.execute(() -> this.delegate.allMatch(predicate));
+    }
+
+    @Override
+    public boolean noneMatch(final Predicate<? super T> predicate) {
+        return this.policy.execute(() -> this.delegate.noneMatch(predicate));
+    }
+
+    @Override
+    public Optional<T> findFirst() {
+        return this.policy.execute(() -> this.delegate.findFirst());
+    }
+
+    @Override
+    public Optional<T> findAny() {
+        return this.policy.execute(() -> this.delegate.findAny());
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this.delegate.iterator();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return this.delegate.spliterator();
+    }
+
+    @Override
+    public boolean isParallel() {
+        return this.delegate.isParallel();
+    }
+
+    @Override
+    public void close() {
+        this.delegate.close();
+    }
+}
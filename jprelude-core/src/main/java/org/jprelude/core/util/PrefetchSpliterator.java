@@ -0,0 +1,99 @@
+package org.jprelude.core.util;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator that traverses the underlying spliterator on another thread
+ * which fills a bounded channel, so upstream waits overlap with
+ * downstream work. Upstream failures are rethrown downstream after the
+ * elements produced before them. Closing the spliterator stops the
+ * producer and waits for it before the source gets closed.
+ */
+final class PrefetchSpliterator<T> extends Spliterators.AbstractSpliterator<T>
+        implements CloseableSpliterator<T> {
+
+    private final Spliterator<T> source;
+    private final SpscChannel<T> channel;
+    private final Executor executor;
+    private final CountDownLatch terminated;
+    private boolean started;
+
+    PrefetchSpliterator(final Spliterator<T> source, final int capacity, final Executor executor) {
+        super(Long.MAX_VALUE, source.characteristics()
+                & (Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE));
+
+        assert capacity > 0;
+
+        this.source = source;
+        this.channel = new SpscChannel<>(capacity);
+        this.executor = executor;
+        this.terminated = new CountDownLatch(1);
+        this.started = false;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        this.start();
+
+        return this.channel.take(action);
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        this.start();
+        this.channel.takeAll(action);
+    }
+
+    @Override
+    public void close() {
+        this.channel.cancel();
+
+        if (this.started) {
+            // The source must not be closed while the producer still uses it
+            SeqSupport.awaitUninterruptibly(this.terminated);
+        }
+    }
+
+    private void start() {
+        if (!this.started) {
+            this.started = true;
+            SeqSupport.start(this::produce, this.executor, "jprelude-prefetch", this.terminated);
+        }
+    }
+
+    private void produce() {
+        Throwable failure = null;
+
+        try {
+            while (!this.channel.isCancelled() && this.source.tryAdvance(this::put)) {
+                // keep on producing
+            }
+        } catch (final Cancelled e) {
+            // the consumer has gone
+        } catch (final RuntimeException | Error e) {
+            failure = e;
+        } finally {
+            this.channel.finish(failure);
+            this.terminated.countDown();
+        }
+    }
+
+    private void put(final T value) {
+        if (!this.channel.put(value)) {
+            throw Cancelled.INSTANCE;
+        }
+    }
+
+    private static final class Cancelled extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private static final Cancelled INSTANCE = new Cancelled();
+
+        private Cancelled() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.jprelude.core.util;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Spliterator that subscribes to a publisher and buffers at most prefetch
+ * elements. Whenever three quarters of a batch have been consumed the
+ * same number of elements is requested again, so the publisher never
+ * gets ahead by more than the buffer size.
+ */
+final class PublisherSpliterator<T> extends Spliterators.AbstractSpliterator<T>
+        implements CloseableSpliterator<T>, Subscriber<T> {
+
+    private static final Object COMPLETE = new Object();
+
+    private final Publisher<? extends T> publisher;
+    private final int prefetch;
+    private final int replenishThreshold;
+    private final BlockingQueue<Object> queue;
+    private volatile Subscription subscription;
+    private int consumed;
+    private boolean subscribed;
+    private boolean done;
+
+    PublisherSpliterator(final Publisher<? extends T> publisher, final int prefetch) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED);
+
+        assert publisher != null;
+        assert prefetch > 0;
+
+        this.publisher = publisher;
+        this.prefetch = prefetch;
+        this.replenishThreshold = Math.max(1, prefetch - (prefetch >> 2));
+
+        // One more slot for the terminal signal
+        this.queue = new ArrayBlockingQueue<>(prefetch + 1);
+        this.subscription = null;
+        this.consumed = 0;
+        this.subscribed = false;
+        this.done = false;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        boolean ret = false;
+
+        if (!this.done) {
+            if (!this.subscribed) {
+                this.subscribed = true;
+
+                // The publisher will not be subscribed before it is really needed
+                this.publisher.subscribe(this);
+            }
+
+            final Object signal;
+
+            try {
+                signal = this.queue.take();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.close();
+
+                throw new SeqCancellationException("Interrupted while waiting for the publisher");
+            }
+
+            if (signal == COMPLETE) {
+                this.done = true;
+            } else if (signal instanceof Failure) {
+                final Throwable cause = ((Failure) signal).cause;
+
+                this.done = true;
+
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                } else {
+                    throw new RuntimeException(cause);
+                }
+            } else {
+                if (++this.consumed == this.replenishThreshold) {
+                    this.consumed = 0;
+                    this.subscription.request(this.replenishThreshold);
+                }
+
+                // Apart from the markers the queue only holds elements of type T
+                @SuppressWarnings("unchecked")
+                final T value = (T) signal;
+
+                ret = true;
+                action.accept(value);
+            }
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void close() {
+        final Subscription current = this.subscription;
+
+        this.done = true;
+        this.subscription = null;
+        this.queue.clear();
+
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    @Override
+    public void onSubscribe(final Subscription newSubscription) {
+        if (this.subscription != null || this.done) {
+            newSubscription.cancel();
+        } else {
+            this.subscription = newSubscription;
+            newSubscription.request(this.prefetch);
+        }
+    }
+
+    @Override
+    public void onNext(final T value) {
+        if (value == null) {
+            this.onError(new NullPointerException("Publisher emitted a null element"));
+        } else if (this.queue.remainingCapacity() <= 1) {
+            // The last slot is reserved for the terminal signal
+            this.onError(new IllegalStateException("Publisher emitted more elements than requested"));
+        } else {
+            this.queue.offer(value);
+        }
+    }
+
+    @Override
+    public void onError(final Throwable error) {
+        this.queue.offer(new Failure(error));
+    }
+
+    @Override
+    public void onComplete() {
+        this.queue.offer(COMPLETE);
+    }
+
+    private static final class Failure {
+        private final Throwable cause;
+
+        Failure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
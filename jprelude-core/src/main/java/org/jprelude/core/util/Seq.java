@@ -1,6 +1,7 @@
 package org.jprelude.core.util;
 
-import com.codepoetics.protonpack.Indexed;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -9,6 +10,7 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
@@ -16,8 +18,12 @@ import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.ObjLongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.DoubleStream;
@@ -25,9 +31,9 @@ import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import org.jprelude.core.util.function.CheckedSupplier;
 import org.jprelude.core.util.function.TriFunction;
-import org.jprelude.core.util.tuple.Pair;
-import org.jprelude.core.util.tuple.Triple;
+import org.reactivestreams.Publisher;
 
 @FunctionalInterface
 public interface Seq<T> {
@@ -63,57 +69,101 @@ public interface Seq<T> {
         });
     }
 
+    default Seq<T> parallel(final ExecutionPolicy policy) {
+        Objects.requireNonNull(policy);
+
+        return Seq.from(() -> policy.apply(this.stream()));
+    }
+
     default <R> Seq<R> map(final Function<? super T, ? extends R> f) {
         Objects.requireNonNull(f);
 
-        return Seq.from(() -> Seq.this.stream().map(f));
+        return Pipeline.map(this, f);
     }
    
     default <R> Seq<R> map(final BiFunction<? super T, Long, R> f) {
         Objects.requireNonNull(f);
         
-        final Seq<Long> nums  = Seq.iterate(0L, n -> n + 1);
-        return this.zip(nums, (v, n) -> f.apply(v, n));
+        return Seq.from(() -> SeqSupport.derive(
+                Seq.this.stream(),
+                spliterator -> IndexedSpliterator.map(spliterator, f)));
+    }
+
+    default <R> Seq<R> mapAsync(final Function<? super T, ? extends R> f, final int maxConcurrency) {
+        return this.mapAsync(f, maxConcurrency, null);
+    }
+
+    default <R> Seq<R> mapAsync(
+            final Function<? super T, ? extends R> f,
+            final int maxConcurrency,
+            final Executor executor) {
+
+        Objects.requireNonNull(f);
+
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Second argument must be a positive integer number");
+        }
+
+        return Seq.from(() -> SeqSupport.derive(this.stream(),
+                spliterator -> new AsyncMapSpliterator<T, R>(spliterator, f, maxConcurrency, executor)));
+    }
+
+    default IntSeq mapToInt(final ToIntFunction<? super T> f) {
+        Objects.requireNonNull(f);
+
+        return () -> Seq.this.stream().mapToInt(f);
+    }
+
+    default LongSeq mapToLong(final ToLongFunction<? super T> f) {
+        Objects.requireNonNull(f);
+
+        return () -> Seq.this.stream().mapToLong(f);
+    }
+
+    default DoubleSeq mapToDouble(final ToDoubleFunction<? super T> f) {
+        Objects.requireNonNull(f);
+
+        return () -> Seq.this.stream().mapToDouble(f);
     }
     
     default <R> Seq<R> flatMap(final Function<? super T, ? extends Seq<? extends R>> f) {
         Objects.requireNonNull(f);
         
-        return Seq.from(() -> Seq.this.stream().flatMap(v -> f.apply(v).stream()));
+        return Seq.from(() -> SeqSupport.derive(Seq.this.stream(),
+                spliterator -> new FlatMapSpliterator<T, R>(spliterator, f)));
     }
 
     default <R> Seq<R> flatMap(final BiFunction<? super T, Long, ? extends Seq<? extends R>> f) {
         Objects.requireNonNull(f);
         
-        final Seq<Long> ints  = Seq.iterate(0L, n -> n + 1);
-        return this.zip(ints, (v, n) -> f.apply(v, n)).flatMap(v -> v);
+        return this.map((v, n) -> f.apply(v, n)).flatMap(seq -> seq);
     }
 
     
     default Seq<T> filter(final Predicate<? super T> pred) {
         Objects.requireNonNull(pred);
 
-        return Seq.from(() -> Seq.this.stream().filter(pred));
+        return Pipeline.filter(this, pred);
     }
     
     default Seq<T> filter(final BiPredicate<? super T, Long> pred) {
         Objects.requireNonNull(pred);
         
-        final Seq<Long> ints  = Seq.iterate(0L, n -> n + 1);   
-        return this.flatMap((v, i) -> pred.test(v, i) ? Seq.of(v) : Seq.empty());
+        return Seq.from(() -> SeqSupport.derive(
+                Seq.this.stream(),
+                spliterator -> IndexedSpliterator.filter(spliterator, pred)));
     }
     
     default Seq<T> reject(final Predicate<? super T> pred) {
         Objects.requireNonNull(pred);
         
-        return Seq.from(() -> Seq.this.stream().filter(v -> !pred.test(v)));
+        return Pipeline.filter(this, v -> !pred.test(v));
     }
     
     default Seq<T> reject(final BiPredicate<? super T, Long> pred) {
         Objects.requireNonNull(pred);
         
-        final Seq<Long> ints  = Seq.iterate(0L, n -> n + 1);        
-        return this.flatMap((v, i) -> !pred.test(v, i) ? Seq.of(v) : Seq.empty());
+        return this.filter((v, i) -> !pred.test(v, i));
     }
     
     default Seq<T> rejectNulls() {
@@ -128,28 +178,26 @@ public interface Seq<T> {
         Objects.requireNonNull(otherSeq);
         Objects.requireNonNull(f);
         
-        return Seq.from(() ->
-            com.codepoetics.protonpack.StreamUtils.zip(
-                this.stream(), otherSeq.stream(), (x, y) -> f.apply(x, y)));
-
+        return this.zip(otherSeq, (x, y, idx) -> f.apply(x, y));
     }
     
     default <U, R> Seq<R> zip(final Seq<U> otherSeq, final TriFunction<? super T, ? super U, Long, R> f) { 
         Objects.requireNonNull(otherSeq);
         Objects.requireNonNull(f);
         
-        return Seq.from(() -> {
-            final Stream<Indexed<T>> indexedStream = com.codepoetics.protonpack.StreamUtils.zipWithIndex(this.stream());
-            return com.codepoetics.protonpack.StreamUtils.zip(
-                indexedStream,
+        return Seq.from(() -> SeqSupport.derive(
+                this.stream(),
                 otherSeq.stream(),
-                (indexedValue, otherValue) -> f.apply(indexedValue.getValue(), otherValue, (long) indexedValue.getIndex())
-            );
-        });
+                (spliterator1, spliterator2) -> new ZipSpliterator<T, U, R>(
+                        spliterator1, spliterator2, (x, y, idx) -> f.apply(x, y, idx))));
     }
 
     default Seq<T> take(final long n) {
-        return Seq.from(() -> this.stream().limit(n));
+        if (n < 0) {
+            throw new IllegalArgumentException("First argument must not be negative");
+        }
+
+        return Pipeline.take(this, n);
     }
     
     default Seq<T> takeWhile(final Predicate<T> pred) {
@@ -163,7 +211,11 @@ public interface Seq<T> {
     
 
     default Seq<T> skip(final long n) {
-        return Seq.from(() -> this.stream()).skip(n);
+        if (n < 0) {
+            throw new IllegalArgumentException("First argument must not be negative");
+        }
+
+        return Pipeline.skip(this, n);
     }
 
     default Seq<T> skipWhile(final Predicate<T> pred) {
@@ -184,33 +236,47 @@ public interface Seq<T> {
     
     default <R> Seq<T> distinct(final Function<T, R> f) {
         Objects.requireNonNull(f);
-        
-        return this.map(item -> {
-                return new Supplier<T>() {
-                    private final R mappedItem = f.apply(item);
-                    
-                    @Override
-                    public T get() {
-                        return item;
-                    }
 
-                    @Override
-                    public boolean equals(final Object obj) {
-                        final R other = f.apply(((Supplier<T>) obj).get());
+        return Seq.from(() -> {
+            final Stream<T> stream = this.stream();
+
+            return stream.isParallel()
+                    ? stream.map(item -> new DistinctSpliterator.Keyed<>(item, f))
+                            .distinct()
+                            .map(keyed -> keyed.getValue())
+                    : SeqSupport.derive(stream, spliterator -> DistinctSpliterator.exact(spliterator, f));
+        });
+    }
 
-                        return Objects.equals(this.mappedItem, other);
-                    }
+    default <R> Seq<T> distinct(final Function<T, R> f, final Codec<T> codec, final int maxKeysInMemory) {
+        Objects.requireNonNull(f);
+        Objects.requireNonNull(codec);
 
-                    @Override
-                    public int hashCode() {
-                        return Objects.hashCode(this.mappedItem);
-                    }
-                };
-            })
-            .distinct()
-            .map(supplier -> supplier.get());
+        if (maxKeysInMemory <= 0) {
+            throw new IllegalArgumentException("Third argument must be a positive integer number");
+        }
+
+        return Seq.from(() -> SeqSupport.derive(this.stream(),
+                spliterator -> DistinctSpliterator.spilling(spliterator, f, codec, maxKeysInMemory)));
     }
-    
+
+    default <R> Seq<T> distinctApproximately(
+            final Function<T, R> f,
+            final long expectedKeys,
+            final double falsePositiveRate) {
+
+        Objects.requireNonNull(f);
+
+        if (expectedKeys <= 0) {
+            throw new IllegalArgumentException("Second argument must be a positive integer number");
+        } else if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Third argument must be greater than 0 and less than 1");
+        }
+
+        return Seq.from(() -> SeqSupport.derive(this.stream(),
+                spliterator -> DistinctSpliterator.approximate(spliterator, f, expectedKeys, falsePositiveRate)));
+    }
+
     default Seq<T> sorted() {
         return () -> this.stream().sorted();
     }
@@ -226,19 +292,7 @@ public interface Seq<T> {
         
         Objects.requireNonNull(f);
         
-        return this.sorted((o1, o2) -> {
-            final int c;
-
-            if (o1 == null && o2 == null || o1 == o2) {
-                c = 0;
-            } else if (o1 == null) {
-                c = -((Comparable) o2).compareTo(null);
-            } else {
-                c = ((Comparable) o1).compareTo(o2);
-            }
-            
-            return c;
-        });
+        return Seq.from(() -> KeySort.sorted(this.stream(), f, false));
     }
     
     default <R extends Comparable<?>> Seq<T> sortedDesc(
@@ -246,46 +300,269 @@ public interface Seq<T> {
         
         Objects.requireNonNull(f);
         
-        return this.sorted((o1, o2) -> {
-            final int c;
+        return Seq.from(() -> KeySort.sorted(this.stream(), f, true));
+    }
 
-            if (o1 == null && o2 == null || o1 == o2) {
-                c = 0;
-            } else if (o1 == null) {
-                c = -((Comparable) o2).compareTo(null);
-            } else {
-                c = ((Comparable) o1).compareTo(o2);
-            }
-            
-            return -c;
+    default Seq<T> sorted(final Codec<T> codec, final int maxInMemory) {
+        // Like sorted() this fails with a ClassCastException on non-comparable elements
+        @SuppressWarnings("unchecked")
+        final Comparator<? super T> naturalOrder = (Comparator<? super T>) Comparator.naturalOrder();
+
+        return this.sorted(naturalOrder, codec, maxInMemory);
+    }
+    
+    default Seq<T> sorted(final Comparator<? super T> comparator, final Codec<T> codec, final int maxInMemory) {
+        Objects.requireNonNull(comparator);
+        Objects.requireNonNull(codec);
+        
+        if (maxInMemory <= 0) {
+            throw new IllegalArgumentException("Third argument must be a positive integer number");
+        }
+        
+        return Seq.from(() -> SeqSupport.derive(
+                this.stream(),
+                spliterator -> new ExternalSortSpliterator<>(
+                        spliterator, comparator, codec, maxInMemory)));
+    }
+    
+    default <R extends Comparable<? super R>> Seq<T> sortedAsc(
+            final Function<T, R> f, final Codec<T> codec, final int maxInMemory) {
+        
+        Objects.requireNonNull(f);
+        
+        return this.sorted(Comparator.comparing(f, Comparator.nullsFirst(Comparator.naturalOrder())), codec, maxInMemory);
+    }
+    
+    default <R extends Comparable<? super R>> Seq<T> sortedDesc(
+            final Function<T, R> f, final Codec<T> codec, final int maxInMemory) {
+        
+        Objects.requireNonNull(f);
+        
+        return this.sorted(Comparator.comparing(f, Comparator.nullsLast(Comparator.<R>reverseOrder())), codec, maxInMemory);
+    }
+
+    default Seq<T> topN(final int n, final Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+
+        if (n < 0) {
+            throw new IllegalArgumentException("First argument must not be negative");
+        }
+
+        return Seq.from(() -> {
+            final Stream<T> source = this.stream();
+            final List<T> top = SeqSupport.evaluate(source, stream -> stream
+                    .collect(() -> new BoundedHeap<T>(n, comparator), BoundedHeap::add, BoundedHeap::addAll)
+                    .toList());
+
+            return SeqSupport.streamLike(source, top.spliterator());
         });
     }
 
+    default Seq<T> bottomN(final int n, final Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+
+        if (n < 0) {
+            throw new IllegalArgumentException("First argument must not be negative");
+        }
+
+        return this.topN(n, comparator.reversed());
+    }
+
+    default Seq<List<T>> chunked(final int size) {
+        return this.chunked(size, false);
+    }
+
+    default Seq<List<T>> chunked(final int size, final boolean reuseBuffer) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("First argument must be a positive integer number");
+        }
+
+        return Seq.from(() -> SeqSupport.derive(this.stream(),
+                spliterator -> WindowSpliterator.chunks(spliterator, size, reuseBuffer)));
+    }
+
+    default Seq<List<T>> sliding(final int size, final int step) {
+        return this.sliding(size, step, false);
+    }
+
+    default Seq<List<T>> sliding(final int size, final int step, final boolean reuseBuffer) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("First argument must be a positive integer number");
+        } else if (step <= 0) {
+            throw new IllegalArgumentException("Second argument must be a positive integer number");
+        }
+
+        return Seq.from(() -> SeqSupport.derive(this.stream(),
+                spliterator -> WindowSpliterator.windows(spliterator, size, step, reuseBuffer)));
+    }
+
+    default Seq<List<T>> chunkedBy(final Predicate<? super T> startsChunk) {
+        return this.chunkedBy(startsChunk, false);
+    }
+
+    default Seq<List<T>> chunkedBy(final Predicate<? super T> startsChunk, final boolean reuseBuffer) {
+        Objects.requireNonNull(startsChunk);
+
+        return Seq.from(() -> SeqSupport.derive(this.stream(),
+                spliterator -> new ChunkBySpliterator<>(spliterator, startsChunk, reuseBuffer)));
+    }
+
     default Seq<T> peek(final Consumer<? super T> action) {
         Objects.requireNonNull(action);
         
-        final Function<? super T, T> f = (v) -> {
-            action.accept(v);
-            return v;
-        };
-                
-        return Seq.from((() -> this.stream().map(f)));
+        return Pipeline.peek(this, action);
     }
     
     default Seq<T> peek(final BiConsumer<? super T, Long> action) {
         Objects.requireNonNull(action);
         
-        return this.map((v, idx) -> {action.accept(v, idx); return v;});
+        return Seq.from(() -> SeqSupport.derive(
+                Seq.this.stream(),
+                spliterator -> IndexedSpliterator.peek(spliterator, action)));
     }
     
-     default Seq<T> force() {
-        // List::size has int as return value, but we want long.
-        // So we count the length on our own.
-        final List<T> list = new ArrayList();
+    default Seq<T> metered(final String stageName) {
+        return this.metered(stageName, MetricsSink.jmx());
+    }
+
+    default Seq<T> metered(final String stageName, final MetricsSink sink) {
+        Objects.requireNonNull(stageName);
+        Objects.requireNonNull(sink);
+
+        return Seq.from(() -> {
+            final Stream<T> stream = this.stream();
+            final StageMetrics metrics = new StageMetrics(stageName);
+
+            sink.started(metrics);
+
+            return SeqSupport.derive(stream, spliterator -> new MeteredSpliterator<>(spliterator, metrics, sink));
+        });
+    }
+
+    default Seq<T> prefetch(final int capacity) {
+        return this.prefetch(capacity, null);
+    }
+
+    /**
+     * Traverses the upstream part of the pipeline on another thread that
+     * buffers up to capacity elements. If no executor is given, a new
+     * daemon thread is started for each traversal.
+     */
+    default Seq<T> prefetch(final int capacity, final Executor executor) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("First argument must be a positive integer number");
+        }
+
+        return Seq.from(() -> SeqSupport.derive(this.stream(),
+                spliterator -> new PrefetchSpliterator<>(spliterator, capacity, executor)));
+    }
+
+    default void fanOut(final List<? extends Consumer<? super Seq<T>>> branches) {
+        this.fanOut(256, null, branches);
+    }
+
+    /**
+     * Traverses this sequence once and hands every element to all
+     * branches. Each branch gets a single-use sequence with its own
+     * buffer and runs on a thread of the executor (or a new daemon thread
+     * if no executor is given). As all branches have to run at the same
+     * time, the executor must provide a free thread for every branch,
+     * otherwise a RejectedExecutionException is thrown if it does not start
+     * all of them within a second. Returns when all branches have
+     * completed.
+     */
+    default void fanOut(
+            final int bufferSize,
+            final Executor executor,
+            final List<? extends Consumer<? super Seq<T>>> branches) {
+
+        Objects.requireNonNull(branches);
+
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("First argument must be a positive integer number");
+        }
+
+        for (final Consumer<? super Seq<T>> branch : branches) {
+            Objects.requireNonNull(branch);
+        }
+
+        FanOut.run(this, new ArrayList<>(branches), bufferSize, executor);
+    }
+
+    default <K, R> Seq<R> partitionedParallel(
+            final Function<? super T, ? extends K> keyFn,
+            final int partitions,
+            final Function<? super Seq<T>, ? extends Seq<R>> laneFn) {
+
+        return this.partitionedParallel(keyFn, partitions, laneFn, null);
+    }
+
+    /**
+     * Routes the elements by the hash of their keys to the given number of
+     * lanes. Each lane is processed sequentially by laneFn on a thread of
+     * the executor (or a new daemon thread if no executor is given), so
+     * the order of the elements with the same key is preserved. The results
+     * of different lanes are interleaved round robin. As the router feeding
+     * the lanes and the lanes run at the same time, the executor must
+     * provide partitions + 1 free threads, otherwise the traversal fails
+     * with a RejectedExecutionException if it does not start all of them
+     * within a second.
+     */
+    default <K, R> Seq<R> partitionedParallel(
+            final Function<? super T, ? extends K> keyFn,
+            final int partitions,
+            final Function<? super Seq<T>, ? extends Seq<R>> laneFn,
+            final Executor executor) {
+
+        Objects.requireNonNull(keyFn);
+        Objects.requireNonNull(laneFn);
+
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Second argument must be a positive integer number");
+        }
+
+        return Seq.from(() -> SeqSupport.derive(this.stream(),
+                spliterator -> new PartitionedSpliterator<T, R>(spliterator, keyFn, partitions, laneFn, executor)));
+    }
+
+    default Seq<T> cancellable(final CancellationToken token) {
+        Objects.requireNonNull(token);
+
+        return Seq.from(() -> {
+            final Stream<T> stream = this.stream();
+
+            return SeqSupport.derive(stream,
+                    spliterator -> new CancellableSpliterator<>(spliterator, token, stream::close));
+        });
+    }
+
+    default Seq<T> withDeadline(final Duration timeout) {
+        Objects.requireNonNull(timeout);
+
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("First argument must not be negative");
+        }
+
+        // The deadline starts with each traversal
+        return Seq.from(() -> {
+            final CancellationToken token = CancellationToken.cancelAfter(timeout);
+
+            return this.cancellable(token).stream().onClose(token::release);
+        });
+    }
+
+    default Publisher<T> toPublisher(final Executor executor) {
+        Objects.requireNonNull(executor);
+
+        return new SeqPublisher<>(this, executor);
+    }
+
+    default Seq<T> force() {
+        final List<T> list = new ArrayList<>();
+        
+        this.sequential().forEach(item -> list.add(item));
         
-        final long listSize = this.sequential()
-                .peek(item -> list.add(item))
-                .count();
+        final long listSize = list.size();
         
         return new Seq<T>() {
             @Override
@@ -309,55 +586,41 @@ public interface Seq<T> {
             }
         };
     }
+    
+    default SpilledSeq<T> force(final Codec<T> codec) {
+        Objects.requireNonNull(codec);
+        
+        return this.forceToDisk(codec, SpilledSeq.DEFAULT_MAX_IN_MEMORY, null);
+    }
+    
+    default SpilledSeq<T> forceToDisk(final Codec<T> codec, final int maxInMemory, final Path directory) {
+        Objects.requireNonNull(codec);
+
+        if (maxInMemory < 0) {
+            throw new IllegalArgumentException("Second argument must not be negative");
+        }
+        
+        return SpilledSeq.of(this, codec, maxInMemory, directory);
+    }
 
     default Seq<T> forceOnDemand() {
-        return new Seq<T>() {
-            private List<T> list;
-            private long listSize;
-            
-            @Override
-            public Stream<T> stream() {
-                this.forceList();
-                return this.list.stream();
-            }
-            
-            @Override
-            public long count() {
-                this.forceList();
-                return this.listSize;
-            }
-            
-            @Override
-            public Seq<T> forceOnDemand() {
-                return this;
-            }
-            
-            private void forceList() {
-                if (this.list == null) {
-                    this.list = new ArrayList(); 
-                            
-                    this.listSize = Seq.this.sequential()
-                            .peek(item -> this.list.add(item))
-                            .count();
-                }
-            }
-        };
+        return new MemoizedSeq<>(this);
     }
     
     default Seq<T> prepend(final T value) {
-        return Seq.concat(Seq.of(value), Seq.from(this));
+        return Seq.concat(Seq.of(value), this);
     }
     
     default Seq<T> prependMany(final T... values) {
-        return Seq.concat(this, Seq.of(values));
+        return Seq.concat(Seq.of(values), this);
     }
     
     default Seq<T> append(final T value) {
-        return Seq.concat(Seq.from(this), Seq.of(value));
+        return Seq.concat(this, Seq.of(value));
     }
     
     default Seq<T> appendMany(final T... values) {
-        return Seq.concat(Seq.of(values), this);
+        return Seq.concat(this, Seq.of(values));
     }
     
     default T head() {
@@ -387,14 +650,14 @@ public interface Seq<T> {
     default T reduce(final T identity, final BiFunction<T, T, T> accumulator) {
         Objects.requireNonNull(accumulator);
         final BinaryOperator<T> operator = (v1, v2) -> accumulator.apply(v1, v2);
-        return this.stream().reduce(identity, operator);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.reduce(identity, operator));
     }
     
     default Optional<T> reduce(final BiFunction<T, T, T> accumulator) {
         Objects.requireNonNull(accumulator);
         
         final BinaryOperator<T> operator = (v1, v2) -> accumulator.apply(v1, v2);
-        return this.stream().reduce(operator);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.reduce(operator));
     }
 
     default <U> U reduce(
@@ -406,7 +669,7 @@ public interface Seq<T> {
         Objects.requireNonNull(combiner);
         
         final BinaryOperator<U> operator = (v1, v2) -> combiner.apply(v1, v2);
-        return this.stream().reduce(identity, accumulator, operator);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.reduce(identity, accumulator, operator));
     }
 
     default <R> R collect(
@@ -418,105 +681,108 @@ public interface Seq<T> {
         Objects.requireNonNull(accumulator);
         Objects.requireNonNull(combiner);
 
-        return this.stream().collect(supplier, accumulator, combiner);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.collect(supplier, accumulator, combiner));
     }
     
     default <A, R> R collect(final Collector<? super T, A, R> collector) {
         Objects.requireNonNull(collector);
 
-        return this.stream().collect(collector);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.collect(collector));
     }
 
 
+    default <K> GroupedSeq<K, T> groupBy(final Function<? super T, ? extends K> keyFn) {
+        Objects.requireNonNull(keyFn);
+
+        return new GroupedSeq<>(this, keyFn, false);
+    }
+
     default Optional<T> min(final Comparator<? super T> comparator) {
         Objects.requireNonNull(comparator);
         
-        return this.stream().min(comparator);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.min(comparator));
     }
 
     default Optional<T> max(final Comparator<? super T> comparator) {
         Objects.requireNonNull(comparator);
         
-        return this.stream().max(comparator);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.max(comparator));
     }
 
     default long count() {
-        return this.stream().count();
+        return SeqSupport.evaluate(this.stream(), Stream::count);
     }
 
 
     default boolean anyMatch(final Predicate<? super T> predicate) {
         Objects.requireNonNull(predicate);
         
-        return this.stream().anyMatch(predicate);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.anyMatch(predicate));
     }
 
     default boolean allMatch(final Predicate<? super T> predicate) {
         Objects.requireNonNull(predicate);
         
-        return this.stream().allMatch(predicate);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.allMatch(predicate));
         
     }
 
     default boolean noneMatch(final Predicate<? super T> predicate) {
         Objects.requireNonNull(predicate);
         
-        return this.stream().noneMatch(predicate);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.noneMatch(predicate));
     }
 
     default Optional<T> findFirst() {
-        return this.stream().findFirst();
+        return SeqSupport.evaluate(this.stream(), Stream::findFirst);
     }
 
     default Optional<T> findAny() {
-        return this.stream().findAny();
+        return SeqSupport.evaluate(this.stream(), Stream::findAny);
     }
     
     default void forEach(final Consumer<? super T> action) {
         Objects.requireNonNull(action);
         
-        this.stream().forEach(action);
+        SeqSupport.run(this.stream(), stream -> stream.forEach(action));
     }    
     
     default void forEach(final BiConsumer<? super T, Long> action) {
         Objects.requireNonNull(action);
         
-        final Seq<Long> nums  = Seq.iterate(0L, n -> n + 1);
- 
-        this.zip(nums, (v, n) -> new Object[] {v, n})
-            .forEach(pair -> action.accept((T) pair[0], (long) pair[1]));
+        this.peek(action).forEach(v -> { });
     }
 
     default void forEachOrdered(final Consumer<? super T> action) {
         Objects.requireNonNull(action);
         
-        this.stream().forEachOrdered(action);
+        SeqSupport.run(this.stream(), stream -> stream.forEachOrdered(action));
     }
     
     default Object[] toArray() {
-        return this.stream().toArray();
+        return SeqSupport.evaluate(this.stream(), Stream::toArray);
     }
     
     default <T> T[] toArray(final IntFunction<T[]> generator) {
         Objects.requireNonNull(generator);
         
-        return this.stream().toArray(generator);
+        return SeqSupport.evaluate(this.stream(), stream -> stream.toArray(generator));
     }
     
     default String[] toStringArray() {
-        return (String[]) this.stream()
+        return SeqSupport.evaluate(this.stream(), stream -> stream
                 .map(v -> Objects.toString(v, null))
-                .toArray();
+                .toArray(String[]::new));
     }
     
     default List<T> toList() {
-        return this.stream().collect(Collectors.toList());
+        return SeqSupport.evaluate(this.stream(), stream -> stream.collect(Collectors.toList()));
     }
     
     default List<String> toStringList() {
-        return (List<String>)this.stream()
+        return SeqSupport.evaluate(this.stream(), stream -> stream
                 .map(v -> v == null ? null : v.toString())
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
     
 
@@ -527,9 +793,21 @@ public interface Seq<T> {
     
     // Static factories
 
-    static <T> Seq<T> paralell(final Seq<T> seq) {
+    static <T> Seq<T> parallel(final Seq<T> seq) {
         return Seq.from(seq).parallel();
     }
+
+    static <T> Seq<T> parallel(final Seq<T> seq, final ExecutionPolicy policy) {
+        return Seq.from(seq).parallel(policy);
+    }
+
+    /**
+     * @deprecated Misspelled, use {@link #parallel(Seq)} instead.
+     */
+    @Deprecated
+    static <T> Seq<T> paralell(final Seq<T> seq) {
+        return Seq.parallel(seq);
+    }
     
     static <T> Seq<T> sequential(final Seq<T> seq) {
         return Seq.from(seq).sequential();
@@ -563,6 +841,51 @@ public interface Seq<T> {
                 : Seq.from(() -> seqSupplier.get().stream());
     }
     
+    /**
+     * Opens a new resource for each traversal and closes it when the
+     * stream of the resulting sequence is closed.
+     */
+    static <R extends AutoCloseable, T> Seq<T> using(
+            final CheckedSupplier<? extends R, ? extends Exception> resourceSupplier,
+            final Function<? super R, ? extends Seq<T>> f) {
+
+        Objects.requireNonNull(resourceSupplier);
+        Objects.requireNonNull(f);
+
+        return () -> {
+            final R resource = SeqSupport.open(resourceSupplier);
+            final Stream<T> stream;
+
+            try {
+                stream = f.apply(resource).stream();
+            } catch (final RuntimeException | Error e) {
+                try {
+                    SeqSupport.close(resource);
+                } catch (final RuntimeException e2) {
+                    e.addSuppressed(e2);
+                }
+
+                throw e;
+            }
+
+            return stream.onClose(() -> SeqSupport.close(resource));
+        };
+    }
+
+    static <T> Seq<T> fromPublisher(final Publisher<? extends T> publisher, final int prefetch) {
+        Objects.requireNonNull(publisher);
+
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("Second argument must be a positive integer number");
+        }
+
+        return () -> {
+            final PublisherSpliterator<T> spliterator = new PublisherSpliterator<>(publisher, prefetch);
+
+            return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+        };
+    }
+
     static <T> Seq<T> from(final Iterable<T> iterable) {
         final Seq<T> ret;
         
@@ -597,17 +920,60 @@ public interface Seq<T> {
        
     
     static <T> Seq<T> from(final BiFunction<Long, Long, Collection<T>> blockReader, final long blockSize, long start) {
+        Objects.requireNonNull(blockReader);
+        
         if (blockSize <= 0) {
             throw new IllegalArgumentException("Second argument must be a positive integer number");
         }
         
-        return Seq.iterate(0L, n -> n + blockSize)
+        return Seq.iterate(start, n -> n + blockSize)
                 .map(n -> blockReader.apply(n, blockSize))
                 .flatMap(coll -> (coll  == null ? Seq.of((Collection<T>) null) : (coll.size() == blockSize ? Seq.of(coll) : Seq.of(coll, null))))                 
                 .takeWhile(coll -> coll != null)
                 .flatMap(coll -> Seq.from(coll));
     }
     
+    static <T> Seq<T> from(
+            final BiFunction<Long, Long, Collection<T>> blockReader,
+            final long blockSize,
+            final long start,
+            final int readAhead) {
+        
+        return Seq.from(blockReader, blockSize, start, readAhead, null);
+    }
+    
+    static <T> Seq<T> from(
+            final BiFunction<Long, Long, Collection<T>> blockReader,
+            final long blockSize,
+            final long start,
+            final int readAhead,
+            final Executor executor) {
+        
+        Objects.requireNonNull(blockReader);
+        
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Second argument must be a positive integer number");
+        } else if (readAhead < 0) {
+            throw new IllegalArgumentException("Fourth argument must not be negative");
+        }
+        
+        final Seq<T> ret;
+        
+        if (readAhead == 0) {
+            ret = Seq.from(blockReader, blockSize, start);
+        } else {
+            ret = Seq.from(() -> {
+                final BlockSpliterator<T> spliterator = new BlockSpliterator<>(
+                        blockReader, blockSize, start, readAhead, executor);
+                
+                return StreamSupport.stream(spliterator, false)
+                        .onClose(spliterator::close);
+            });
+        }
+        
+        return ret;
+    }
+    
     static <T> Seq<T> iterate(final T seed, final Function<T, T> f) {
         Objects.requireNonNull(f);
  
@@ -617,21 +983,74 @@ public interface Seq<T> {
     static <T> Seq<T> iterate(final T seed1, final T seed2, final BiFunction<T, T, T> f) {
         Objects.requireNonNull(f);
 
-        final Pair<T, T> seedPair = Pair.of(seed1, seed2);
-        
-        return Seq.iterate(seedPair, pair -> Pair.of(pair.getSecond(), f.apply(pair.getFirst(), pair.getSecond())))
-                .map(pair -> pair.getFirst());
+        // State: the last two values and the number of values returned so far (up to 2)
+        return Seq.unfold(() -> new Supplier<T>() {
+            private T first = seed1;
+            private T second = seed2;
+            private int count = 0;
+
+            @Override
+            public T get() {
+                final T ret;
+
+                if (this.count < 2) {
+                    ret = (this.count == 0 ? this.first : this.second);
+                    ++this.count;
+                } else {
+                    ret = f.apply(this.first, this.second);
+                    this.first = this.second;
+                    this.second = ret;
+                }
+
+                return ret;
+            }
+        }, Supplier::get);
     }
     
     static <T> Seq<T> iterate(final T seed1, final T seed2, final T seed3, final TriFunction<T, T, T, T> f) {
         Objects.requireNonNull(f);
-        
-        final Triple<T, T, T> seedTriple = Triple.of(seed1, seed2, seed3);
-      
-        return Seq.iterate(seedTriple, triple -> Triple.of(triple.getFirst(), triple.getSecond(), f.apply(triple.getFirst(), triple.getSecond(), triple.getThird())))
-                .map(Triple::getFirst);
+
+        // State: the last three values and the number of values returned so far (up to 3)
+        return Seq.unfold(() -> new Supplier<T>() {
+            private T first = seed1;
+            private T second = seed2;
+            private T third = seed3;
+            private int count = 0;
+
+            @Override
+            public T get() {
+                final T ret;
+
+                if (this.count < 3) {
+                    ret = (this.count == 0 ? this.first : this.count == 1 ? this.second : this.third);
+                    ++this.count;
+                } else {
+                    ret = f.apply(this.first, this.second, this.third);
+                    this.first = this.second;
+                    this.second = this.third;
+                    this.third = ret;
+                }
+
+                return ret;
+            }
+        }, Supplier::get);
     }
 
+    static <S, T> Seq<T> unfold(final Supplier<S> stateSupplier, final Function<? super S, ? extends T> step) {
+        return Seq.unfold(stateSupplier, step, null);
+    }
+
+    static <S, T> Seq<T> unfold(
+            final Supplier<S> stateSupplier,
+            final Function<? super S, ? extends T> step,
+            final ObjLongConsumer<S> jump) {
+
+        Objects.requireNonNull(stateSupplier);
+        Objects.requireNonNull(step);
+
+        return Seq.from(() -> StreamSupport.stream(
+                new UnfoldSpliterator.ObjectUnfold<S, T>(stateSupplier, step, jump), false));
+    }
 
     static<T> Seq<T> generate(final Supplier<T> supplier) {
         Objects.requireNonNull(supplier);
@@ -646,23 +1065,8 @@ public interface Seq<T> {
         Objects.requireNonNull(seq1);
         Objects.requireNonNull(seq2);
         
-        final Seq<T> ret;
-        final Stream<? extends T> stream1 = seq1.stream();
-        final Stream<? extends T> stream2;
-        
-        try {
-            stream2 = seq2.stream();
-        } catch (final RuntimeException e1) {
-            try {
-                stream1.close();
-            } catch (final RuntimeException e2) {
-                e1.addSuppressed(e2);
-            }
-            
-            throw e1;
-        }
-        
-        return Seq.from(() -> Stream.concat(stream1, stream2));
+        return Seq.from(() -> SeqSupport.derive(Stream.of(seq1, seq2),
+                spliterator -> new FlatMapSpliterator<Seq<? extends T>, T>(spliterator, seq -> seq)));
     }
            
     static <T> Seq<T> concat(final Seq<Seq<T>> seqs) {
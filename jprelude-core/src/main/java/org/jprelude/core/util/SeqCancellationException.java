@@ -0,0 +1,11 @@
+package org.jprelude.core.util;
+
+import java.util.concurrent.CancellationException;
+
+public class SeqCancellationException extends CancellationException {
+    private static final long serialVersionUID = 1L;
+
+    public SeqCancellationException(final String message) {
+        super(message);
+    }
+}
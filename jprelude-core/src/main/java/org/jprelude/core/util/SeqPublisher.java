@@ -0,0 +1,161 @@
+package org.jprelude.core.util;
+
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Cold publisher that traverses a fresh stream of the sequence for each
+ * subscriber. Elements are pulled from the spliterator only as demand
+ * arrives and are emitted on the given executor.
+ */
+final class SeqPublisher<T> implements Publisher<T> {
+    private final Seq<T> seq;
+    private final Executor executor;
+
+    SeqPublisher(final Seq<T> seq, final Executor executor) {
+        assert seq != null;
+        assert executor != null;
+
+        this.seq = seq;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        final SeqSubscription subscription = new SeqSubscription(subscriber);
+
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class SeqSubscription implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong demand;
+        private final AtomicInteger pendingSignals;
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private Stream<T> stream;
+        private Spliterator<T> spliterator;
+        private boolean done;
+
+        SeqSubscription(final Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            this.demand = new AtomicLong(0);
+            this.pendingSignals = new AtomicInteger(0);
+            this.cancelled = false;
+            this.invalidRequest = null;
+            this.stream = null;
+            this.spliterator = null;
+            this.done = false;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                this.invalidRequest = new IllegalArgumentException("Requested number of elements must be positive");
+            } else {
+                // Demand is capped at Long.MAX_VALUE, which means unbounded
+                this.demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            }
+
+            this.signal();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.signal();
+        }
+
+        private void signal() {
+            if (this.pendingSignals.getAndIncrement() == 0) {
+                try {
+                    SeqPublisher.this.executor.execute(this::drain);
+                } catch (final RuntimeException e) {
+                    this.cancelled = true;
+                    this.subscriber.onError(e);
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+
+            do {
+                if (!this.done) {
+                    this.emit();
+                }
+
+                missed = this.pendingSignals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            try {
+                if (this.cancelled) {
+                    this.finish();
+                } else if (this.invalidRequest != null) {
+                    this.finish();
+                    this.subscriber.onError(this.invalidRequest);
+                } else {
+                    if (this.spliterator == null) {
+                        this.stream = SeqPublisher.this.seq.stream();
+                        this.spliterator = this.stream.spliterator();
+                    }
+
+                    long requested = this.demand.get();
+                    long emitted = 0;
+
+                    while (!this.cancelled && !this.done) {
+                        if (emitted == requested) {
+                            requested = this.demand.addAndGet(-emitted);
+                            emitted = 0;
+
+                            if (requested == 0) {
+                                break;
+                            }
+                        }
+
+                        if (this.spliterator.tryAdvance(this.subscriber::onNext)) {
+                            ++emitted;
+                        } else {
+                            this.finish();
+                            this.subscriber.onComplete();
+                        }
+                    }
+
+                    if (this.cancelled) {
+                        this.finish();
+                    }
+                }
+            } catch (final RuntimeException | Error e) {
+                try {
+                    this.finish();
+                } catch (final RuntimeException e2) {
+                    e.addSuppressed(e2);
+                }
+
+                if (!this.cancelled) {
+                    this.subscriber.onError(e);
+                }
+            }
+        }
+
+        private void finish() {
+            final Stream<T> source = this.stream;
+
+            this.done = true;
+            this.stream = null;
+            this.spliterator = null;
+
+            if (source != null) {
+                source.close();
+            }
+        }
+    }
+}
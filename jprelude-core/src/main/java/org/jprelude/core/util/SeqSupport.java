@@ -0,0 +1,392 @@
+package org.jprelude.core.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jprelude.core.util.function.CheckedSupplier;
+
+final class SeqSupport {
+    private static final long START_TIMEOUT_MILLIS = 1000;
+
+    private SeqSupport() {
+    }
+
+    /**
+     * Builds a new stream on top of the spliterator of the given source
+     * stream. The new stream keeps the parallel mode of the source and
+     * closes the source (and the new spliterator if it is closeable) when it
+     * is closed itself.
+     */
+    static <T, R> Stream<R> derive(
+            final Stream<T> source,
+            final Function<Spliterator<T>, Spliterator<R>> f) {
+
+        assert source != null;
+        assert f != null;
+
+        final Stream<R> ret;
+        final Spliterator<R> spliterator;
+
+        try {
+            spliterator = f.apply(source.spliterator());
+        } catch (final RuntimeException e) {
+            try {
+                source.close();
+            } catch (final RuntimeException e2) {
+                e.addSuppressed(e2);
+            }
+
+            throw e;
+        }
+
+        ret = StreamSupport.stream(spliterator, source.isParallel());
+        
+        return SeqSupport.keepingPolicy(
+                SeqSupport.closing(ret, spliterator).onClose(source::close), source);
+    }
+
+    /**
+     * Builds a new stream on top of the spliterators of two source
+     * streams. The new stream is parallel if one of the sources is parallel
+     * and closes both sources when it is closed itself.
+     */
+    static <A, B, R> Stream<R> derive(
+            final Stream<A> source1,
+            final Stream<B> source2,
+            final BiFunction<Spliterator<A>, Spliterator<B>, Spliterator<R>> f) {
+
+        assert source1 != null;
+        assert source2 != null;
+        assert f != null;
+
+        final Stream<R> ret;
+        final Spliterator<R> spliterator;
+
+        try {
+            spliterator = f.apply(source1.spliterator(), source2.spliterator());
+        } catch (final RuntimeException e) {
+            try {
+                source1.close();
+            } catch (final RuntimeException e2) {
+                e.addSuppressed(e2);
+            }
+            
+            try {
+                source2.close();
+            } catch (final RuntimeException e2) {
+                e.addSuppressed(e2);
+            }
+
+            throw e;
+        }
+
+        ret = StreamSupport.stream(
+                spliterator, source1.isParallel() || source2.isParallel());
+
+        return SeqSupport.keepingPolicy(
+                SeqSupport.keepingPolicy(
+                        SeqSupport.closing(ret, spliterator)
+                                .onClose(source1::close)
+                                .onClose(source2::close),
+                        source2),
+                source1);
+    }
+
+    /**
+     * Returns a stream of the given spliterator with the parallel mode and
+     * the execution policy of the given source stream (which may already
+     * have been closed).
+     */
+    static <T> Stream<T> streamLike(final Stream<?> source, final Spliterator<T> spliterator) {
+        assert source != null;
+        assert spliterator != null;
+
+        return SeqSupport.keepingPolicy(StreamSupport.stream(spliterator, source.isParallel()), source);
+    }
+
+    /**
+     * Applies a terminal operation to the given stream and closes the
+     * stream afterwards, also if the operation short-circuits or fails.
+     */
+    static <S extends BaseStream<?, S>, R> R evaluate(
+            final S stream,
+            final Function<? super S, ? extends R> operation) {
+
+        assert stream != null;
+        assert operation != null;
+
+        final R ret;
+
+        try (final S source = stream) {
+            ret = operation.apply(source);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Like evaluate but for terminal operations without result.
+     */
+    static <S extends BaseStream<?, S>> void run(
+            final S stream,
+            final Consumer<? super S> operation) {
+
+        assert stream != null;
+        assert operation != null;
+
+        try (final S source = stream) {
+            operation.accept(source);
+        }
+    }
+
+    static <R> R open(final CheckedSupplier<? extends R, ? extends Exception> resourceSupplier) {
+        assert resourceSupplier != null;
+
+        final R ret;
+
+        try {
+            ret = resourceSupplier.get();
+        } catch (final RuntimeException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw e instanceof IOException
+                    ? new UncheckedIOException((IOException) e)
+                    : new RuntimeException(e);
+        }
+
+        return ret;
+    }
+
+    static void close(final AutoCloseable resource) {
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (final RuntimeException e) {
+                throw e;
+            } catch (final Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Waits until the latch has been counted down, even if the current
+     * thread gets interrupted meanwhile. The interrupt flag is restored
+     * afterwards.
+     */
+    static void awaitUninterruptibly(final CountDownLatch latch) {
+        assert latch != null;
+
+        boolean interrupted = false;
+
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the given task on the executor or, if there is none, on a new
+     * daemon thread. If the task cannot be started the latch is counted
+     * down, so nobody waits for it.
+     */
+    static void start(
+            final Runnable task,
+            final Executor executor,
+            final String threadName,
+            final CountDownLatch terminated) {
+
+        assert task != null;
+        assert threadName != null;
+        assert terminated != null;
+
+        try {
+            if (executor == null) {
+                final Thread thread = new Thread(task, threadName);
+
+                thread.setDaemon(true);
+                thread.start();
+            } else {
+                executor.execute(task);
+            }
+        } catch (final RuntimeException | Error e) {
+            terminated.countDown();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the given tasks concurrently, each of them counts down the latch
+     * when it has terminated. Tasks which wait for each other would hang
+     * in an executor with fewer free threads than tasks, so if the executor
+     * has not begun all tasks within START_TIMEOUT_MILLIS a
+     * RejectedExecutionException is thrown (and the tasks not begun are
+     * skipped when the executor gets to them). If a task cannot be started
+     * the latch is counted down for it and all following tasks, the tasks
+     * started so far have to be stopped by the caller.
+     */
+    static void startConcurrently(
+            final List<Runnable> tasks,
+            final Executor executor,
+            final String threadName,
+            final CountDownLatch terminated) {
+
+        assert tasks != null;
+        assert threadName != null;
+        assert terminated != null;
+
+        final List<AtomicBoolean> claims = new ArrayList<>(tasks.size());
+        final CountDownLatch begun = new CountDownLatch(tasks.size());
+
+        for (int i = 0; i < tasks.size(); ++i) {
+            final Runnable task = tasks.get(i);
+            final AtomicBoolean claim = new AtomicBoolean(executor == null);
+
+            claims.add(claim);
+
+            try {
+                if (executor == null) {
+                    SeqSupport.start(task, null, threadName, terminated);
+                } else {
+                    SeqSupport.start(() -> {
+                        if (claim.compareAndSet(false, true)) {
+                            begun.countDown();
+                            task.run();
+                        }
+                    }, executor, threadName, terminated);
+                }
+            } catch (final RuntimeException | Error e) {
+                // Tasks which have been submitted but not begun are dropped
+                for (int j = 0; j < i; ++j) {
+                    if (claims.get(j).compareAndSet(false, true)) {
+                        terminated.countDown();
+                    }
+                }
+
+                for (int j = i + 1; j < tasks.size(); ++j) {
+                    terminated.countDown();
+                }
+
+                throw e;
+            }
+        }
+
+        if (executor != null) {
+            try {
+                begun.await(START_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            int skipped = 0;
+
+            for (final AtomicBoolean claim : claims) {
+                if (claim.compareAndSet(false, true)) {
+                    terminated.countDown();
+                    ++skipped;
+                }
+            }
+
+            if (skipped > 0) {
+                throw new RejectedExecutionException(String.format(
+                        "Executor has not started %d of %d %s tasks within %d ms, "
+                                + "it must provide a free thread for each of them",
+                        skipped, tasks.size(), threadName, START_TIMEOUT_MILLIS));
+            }
+        }
+    }
+
+    /**
+     * Keeps the execution policy of the source stream (if any).
+     */
+    private static <T> Stream<T> keepingPolicy(final Stream<T> stream, final Stream<?> source) {
+        final Stream<T> ret;
+
+        if (source instanceof PolicyStream) {
+            final Stream<T> delegate = stream instanceof PolicyStream
+                    ? ((PolicyStream<T>) stream).getDelegate()
+                    : stream;
+
+            ret = new PolicyStream<>(delegate, ((PolicyStream<?>) source).getPolicy());
+        } else {
+            ret = stream;
+        }
+
+        return ret;
+    }
+
+    private static <T> Stream<T> closing(final Stream<T> stream, final Spliterator<?> spliterator) {
+        return spliterator instanceof CloseableSpliterator
+                ? stream.onClose(((CloseableSpliterator<?>) spliterator)::close)
+                : stream;
+    }
+
+    /**
+     * Removes up to n elements from the front of the given spliterator. The
+     * buffer is sized by the elements that are actually there (as far as
+     * known) and grows while they arrive, not by n.
+     */
+    static <T> Object[] take(final Spliterator<T> spliterator, final long n) {
+        assert spliterator != null;
+        
+        final long knownSize = spliterator.getExactSizeIfKnown();
+        final int limit = (int) Math.min(n, Integer.MAX_VALUE - 8);
+        final Object[][] values = {new Object[(int) Math.min(limit, knownSize >= 0 ? knownSize : 16)]};
+        final int[] count = {0};
+        final Consumer<T> collector = value -> {
+            if (count[0] == values[0].length) {
+                values[0] = Arrays.copyOf(values[0], (int) Math.min(limit, 2L * count[0] + 16));
+            }
+
+            values[0][count[0]++] = value;
+        };
+
+        while (count[0] < limit && spliterator.tryAdvance(collector)) {
+            // keep on taking
+        }
+
+        return count[0] == values[0].length
+                ? values[0]
+                : Arrays.copyOf(values[0], count[0]);
+    }
+
+    /**
+     * Returns a sized spliterator that first traverses the given spliterator
+     * (which may be null) and then the given values.
+     */
+    static <T> Spliterator<T> append(final Spliterator<T> spliterator, final Object[] values) {
+        assert values != null;
+        
+        // The values have been taken from a spliterator of type T
+        @SuppressWarnings("unchecked")
+        final Stream<T> tail = (Stream<T>) Arrays.stream(values);
+        
+        return spliterator == null
+                ? tail.spliterator()
+                : Stream.concat(StreamSupport.stream(spliterator, false), tail).spliterator();
+    }
+}
@@ -0,0 +1,182 @@
+package org.jprelude.core.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Temporary file that holds a sequence of elements in the binary form
+ * given by a codec. The elements are appended first and can then be read
+ * back any number of times with sequential buffered reads.
+ */
+final class SpillFile<T> implements AutoCloseable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final Codec<T> codec;
+    private DataOutputStream out;
+    private long size;
+
+    private SpillFile(final Path path, final Codec<T> codec) throws IOException {
+        this.path = path;
+        this.codec = codec;
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(path), BUFFER_SIZE));
+
+        this.size = 0;
+    }
+
+    static <T> SpillFile<T> create(final Path directory, final Codec<T> codec) {
+        assert codec != null;
+
+        final SpillFile<T> ret;
+
+        try {
+            final Path path = directory == null
+                    ? Files.createTempFile("jprelude-", ".spill")
+                    : Files.createTempFile(directory, "jprelude-", ".spill");
+
+            ret = new SpillFile<>(path, codec);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return ret;
+    }
+
+    void write(final T value) {
+        if (this.out == null) {
+            throw new IllegalStateException("Spill file has already been completed");
+        }
+
+        try {
+            this.codec.encode(value, this.out);
+            ++this.size;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Completes writing. Afterwards the spill file can be read.
+     */
+    void complete() {
+        final DataOutputStream stream = this.out;
+
+        this.out = null;
+
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    long size() {
+        return this.size;
+    }
+
+    Stream<T> read() {
+        if (this.out != null) {
+            throw new IllegalStateException("Spill file has not been completed yet");
+        }
+
+        final Reader reader = new Reader();
+
+        return StreamSupport.stream(reader, false).onClose(reader::close);
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.complete();
+        } finally {
+            try {
+                Files.deleteIfExists(this.path);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private final class Reader extends Spliterators.AbstractSpliterator<T> {
+        private DataInputStream in;
+        private long remaining;
+
+        Reader() {
+            super(SpillFile.this.size, Spliterator.ORDERED | Spliterator.SIZED);
+
+            this.in = null;
+            this.remaining = SpillFile.this.size;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            final boolean ret = this.remaining > 0;
+
+            if (ret) {
+                final T value;
+
+                try {
+                    // The file will not be opened before it is really needed
+                    if (this.in == null) {
+                        this.in = new DataInputStream(new BufferedInputStream(
+                                Files.newInputStream(SpillFile.this.path), BUFFER_SIZE));
+                    }
+
+                    value = SpillFile.this.codec.decode(this.in);
+                } catch (final IOException e) {
+                    final UncheckedIOException error = new UncheckedIOException(e);
+
+                    try {
+                        this.close();
+                    } catch (final RuntimeException e2) {
+                        error.addSuppressed(e2);
+                    }
+
+                    throw error;
+                }
+
+                if (--this.remaining == 0) {
+                    this.close();
+                }
+
+                action.accept(value);
+            }
+
+            return ret;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.remaining;
+        }
+
+        void close() {
+            final DataInputStream stream = this.in;
+
+            this.in = null;
+            this.remaining = 0;
+
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.jprelude.core.util;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Forced sequence that keeps a bounded number of elements in memory and
+ * spills the rest to a temporary file. The temporary file is deleted when
+ * the sequence is closed.
+ */
+public final class SpilledSeq<T> implements Seq<T>, AutoCloseable {
+    static final int DEFAULT_MAX_IN_MEMORY = 10_000;
+
+    private final List<T> head;
+    private final SpillFile<T> spillFile;
+    private final long size;
+
+    private SpilledSeq(final List<T> head, final SpillFile<T> spillFile) {
+        this.head = head;
+        this.spillFile = spillFile;
+        this.size = head.size() + (spillFile == null ? 0 : spillFile.size());
+    }
+
+    static <T> SpilledSeq<T> of(
+            final Seq<T> seq,
+            final Codec<T> codec,
+            final int maxInMemory,
+            final Path directory) {
+
+        Objects.requireNonNull(seq);
+        Objects.requireNonNull(codec);
+
+        if (maxInMemory < 0) {
+            throw new IllegalArgumentException("Third argument must not be negative");
+        }
+
+        final List<T> head = new ArrayList<>(Math.min(maxInMemory, 1024));
+        SpillFile<T> spillFile = null;
+
+        try (final Stream<T> stream = seq.sequential().stream()) {
+            final Iterator<T> iterator = stream.iterator();
+
+            while (iterator.hasNext()) {
+                final T item = iterator.next();
+
+                if (head.size() < maxInMemory) {
+                    head.add(item);
+                } else {
+                    if (spillFile == null) {
+                        spillFile = SpillFile.create(directory, codec);
+                    }
+
+                    spillFile.write(item);
+                }
+            }
+
+            if (spillFile != null) {
+                spillFile.complete();
+            }
+        } catch (final RuntimeException | Error e) {
+            if (spillFile != null) {
+                try {
+                    spillFile.close();
+                } catch (final RuntimeException e2) {
+                    e.addSuppressed(e2);
+                }
+            }
+
+            throw e;
+        }
+
+        return new SpilledSeq<>(head, spillFile);
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return this.spillFile == null
+                ? this.head.stream()
+                : Stream.concat(this.head.stream(), this.spillFile.read());
+    }
+
+    @Override
+    public long count() {
+        return this.size;
+    }
+
+    @Override
+    public Seq<T> force() {
+        return this;
+    }
+
+    @Override
+    public Seq<T> forceOnDemand() {
+        return this;
+    }
+
+    public boolean isSpilled() {
+        return this.spillFile != null;
+    }
+
+    @Override
+    public void close() {
+        if (this.spillFile != null) {
+            this.spillFile.close();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.jprelude.core.util;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.StreamSupport;
+
+/**
+ * Blocking hand-over of elements from one producer thread to one consumer
+ * thread through a bounded ring buffer. The producer finishes the channel
+ * (optionally with a failure that is rethrown to the consumer after the
+ * elements put before it), the consumer may cancel it at any time. Both
+ * sides spin shortly and then park until the other side signals them.
+ * Waiting is aborted with a SeqCancellationException if the waiting
+ * thread gets interrupted.
+ */
+final class SpscChannel<T> {
+    private final SpscRingBuffer<T> buffer;
+    private final ParkingSignal notEmpty;
+    private final ParkingSignal notFull;
+    private volatile boolean cancelled;
+    private volatile boolean finished;
+    private volatile Throwable failure;
+
+    SpscChannel(final int capacity) {
+        this(capacity, new ParkingSignal());
+    }
+
+    /**
+     * Creates a channel that signals the given signal whenever there is
+     * something to take, which may be shared by several channels with the
+     * same consumer.
+     */
+    SpscChannel(final int capacity, final ParkingSignal notEmpty) {
+        assert capacity > 0;
+        assert notEmpty != null;
+
+        this.notEmpty = notEmpty;
+        this.notFull = new ParkingSignal();
+        this.buffer = new SpscRingBuffer<>(capacity, this.notEmpty, this.notFull);
+        this.cancelled = false;
+        this.finished = false;
+        this.failure = null;
+    }
+
+    /**
+     * Puts an element and waits while the buffer is full. Returns false
+     * (dropping the element) if the consumer has cancelled the channel.
+     */
+    boolean put(final T value) {
+        boolean ret = !this.cancelled;
+
+        while (ret && !this.buffer.offer(value)) {
+            this.notFull.await(() -> this.cancelled || !this.buffer.isFull());
+            ret = !this.cancelled;
+        }
+
+        return ret;
+    }
+
+    void finish(final Throwable failure) {
+        this.failure = failure;
+        this.finished = true;
+        this.notEmpty.signal();
+    }
+
+    void cancel() {
+        this.cancelled = true;
+        this.notFull.signal();
+    }
+
+    boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Waits for the next element and hands it to the given action. Returns
+     * false if the channel has been finished and all elements have been
+     * taken.
+     */
+    boolean take(final Consumer<? super T> action) {
+        boolean ret = false;
+        boolean done = false;
+
+        while (!ret && !done) {
+            final boolean wasFinished = this.finished;
+
+            // After the producer has finished one more drain gets the rest
+            ret = this.buffer.drain(action, 1) == 1;
+            done = !ret && wasFinished;
+
+            if (!ret && !done) {
+                this.notEmpty.await(this::isReadable);
+            }
+        }
+
+        if (done) {
+            this.rethrowFailure();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Hands up to max available elements to the given action without
+     * waiting and returns their number.
+     */
+    int poll(final Consumer<? super T> action, final int max) {
+        return this.buffer.drain(action, max);
+    }
+
+    boolean isEmpty() {
+        return this.buffer.isEmpty();
+    }
+
+    /**
+     * Returns true if there is an element to take or the channel has been
+     * finished, so taking would not have to wait.
+     */
+    boolean isReadable() {
+        return this.finished || !this.buffer.isEmpty();
+    }
+
+    /**
+     * Returns true if the channel has been finished and all elements have
+     * been taken. Rethrows the failure the channel has been finished with.
+     */
+    boolean isDrained() {
+        final boolean ret = this.finished && this.buffer.isEmpty();
+
+        if (ret) {
+            this.rethrowFailure();
+        }
+
+        return ret;
+    }
+
+    void takeAll(final Consumer<? super T> action) {
+        boolean done = false;
+
+        while (!done) {
+            final boolean wasFinished = this.finished;
+
+            if (this.buffer.drain(action, Integer.MAX_VALUE) == 0) {
+                if (wasFinished) {
+                    done = true;
+                } else {
+                    this.notEmpty.await(this::isReadable);
+                }
+            }
+        }
+
+        this.rethrowFailure();
+    }
+
+    /**
+     * Returns a sequence that takes the elements of this channel. It can
+     * only be traversed once, closing its stream cancels the channel.
+     */
+    Seq<T> toSeq() {
+        final AtomicBoolean traversed = new AtomicBoolean(false);
+
+        return () -> {
+            if (!traversed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Sequence of a channel can only be traversed once");
+            }
+
+            return StreamSupport.stream(new ChannelSpliterator(), false)
+                    .onClose(this::cancel);
+        };
+    }
+
+    private void rethrowFailure() {
+        final Throwable cause = this.failure;
+
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        } else if (cause != null) {
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private final class ChannelSpliterator extends Spliterators.AbstractSpliterator<T> {
+        ChannelSpliterator() {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            return SpscChannel.this.take(action);
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            SpscChannel.this.takeAll(action);
+        }
+    }
+}
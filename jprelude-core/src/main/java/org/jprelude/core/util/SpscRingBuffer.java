@@ -0,0 +1,116 @@
+package org.jprelude.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring buffer for exactly one producer thread and one
+ * consumer thread. Each side caches the last seen index of the other
+ * side and only rereads it when the cached value says the buffer is full
+ * (or empty), so elements are effectively handed over in batches. Each
+ * added element signals a waiting consumer, each released slot a waiting
+ * producer.
+ */
+final class SpscRingBuffer<T> {
+    private final Object[] elements;
+    private final int mask;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+    private final ParkingSignal notEmpty;
+    private final ParkingSignal notFull;
+
+    // Only used by the producer
+    private long cachedHead;
+
+    // Only used by the consumer
+    private long cachedTail;
+
+    SpscRingBuffer(final int capacity, final ParkingSignal notEmpty, final ParkingSignal notFull) {
+        assert capacity > 0;
+        assert notEmpty != null;
+        assert notFull != null;
+
+        final int size = capacity == 1
+                ? 1
+                : Integer.highestOneBit(Math.min(capacity, 1 << 30) - 1) << 1;
+
+        this.elements = new Object[size];
+        this.mask = size - 1;
+        this.head = new AtomicLong(0);
+        this.tail = new AtomicLong(0);
+        this.notEmpty = notEmpty;
+        this.notFull = notFull;
+        this.cachedHead = 0;
+        this.cachedTail = 0;
+    }
+
+    /**
+     * Adds an element if the buffer is not full. Must only be called by
+     * the producer.
+     */
+    boolean offer(final T value) {
+        final long t = this.tail.get();
+        boolean ret = true;
+
+        if (t - this.cachedHead == this.elements.length) {
+            this.cachedHead = this.head.get();
+            ret = t - this.cachedHead < this.elements.length;
+        }
+
+        if (ret) {
+            this.elements[(int) t & this.mask] = value;
+
+            // A volatile write, so a consumer that is about to park either
+            // sees the element or is seen by the signal
+            this.tail.set(t + 1);
+            this.notEmpty.signal();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Hands up to max available elements to the given action and returns
+     * their number. Must only be called by the consumer.
+     */
+    int drain(final Consumer<? super T> action, final int max) {
+        final long h = this.head.get();
+
+        if (this.cachedTail == h) {
+            this.cachedTail = this.tail.get();
+        }
+
+        final int ret = (int) Math.min(this.cachedTail - h, max);
+
+        for (int i = 0; i < ret; ++i) {
+            final int index = (int) (h + i) & this.mask;
+            @SuppressWarnings("unchecked")
+            final T value = (T) this.elements[index];
+
+            this.elements[index] = null;
+
+            // The slot is released before the action runs, so a failing
+            // action cannot hand out the same element twice and a waiting
+            // producer can go on meanwhile
+            this.head.set(h + i + 1);
+            this.notFull.signal();
+            action.accept(value);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Must only be called by the consumer.
+     */
+    boolean isEmpty() {
+        return this.head.get() == this.tail.get();
+    }
+
+    /**
+     * Must only be called by the producer.
+     */
+    boolean isFull() {
+        return this.tail.get() - this.head.get() == this.elements.length;
+    }
+}
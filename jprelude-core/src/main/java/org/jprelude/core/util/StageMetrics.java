@@ -0,0 +1,128 @@
+package org.jprelude.core.util;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of one traversal of a metered stage: the number of elements
+ * that have passed the stage, the time spent upstream (producing the
+ * elements) and downstream (consuming them) summed over all threads, and
+ * the wall time since the traversal has started (which is when the
+ * first element is requested, not when the stream is created).
+ */
+public final class StageMetrics implements StageMetricsMXBean {
+    private final String stageName;
+    private final LongAdder elementCount;
+    private final LongAdder upstreamNanos;
+    private final LongAdder downstreamNanos;
+    private final AtomicInteger activeSplits;
+    private final AtomicBoolean completed;
+    private final AtomicLong startNanos;
+    private volatile long endNanos;
+
+    StageMetrics(final String stageName) {
+        this.stageName = stageName;
+        this.elementCount = new LongAdder();
+        this.upstreamNanos = new LongAdder();
+        this.downstreamNanos = new LongAdder();
+        this.activeSplits = new AtomicInteger(1);
+        this.completed = new AtomicBoolean(false);
+        this.startNanos = new AtomicLong(0);
+        this.endNanos = 0;
+    }
+
+    @Override
+    public String getStageName() {
+        return this.stageName;
+    }
+
+    @Override
+    public long getElementCount() {
+        return this.elementCount.sum();
+    }
+
+    @Override
+    public long getUpstreamNanos() {
+        return this.upstreamNanos.sum();
+    }
+
+    @Override
+    public long getDownstreamNanos() {
+        return this.downstreamNanos.sum();
+    }
+
+    @Override
+    public long getWallNanos() {
+        final long start = this.startNanos.get();
+
+        return start == 0 ? 0 : (this.completed.get() ? this.endNanos : System.nanoTime()) - start;
+    }
+
+    /**
+     * Returns the number of elements per second of wall time.
+     */
+    @Override
+    public double getThroughput() {
+        final long wallNanos = this.getWallNanos();
+
+        return wallNanos <= 0 ? 0 : this.getElementCount() * 1e9 / wallNanos;
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return this.completed.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d elements, upstream %.3f ms, downstream %.3f ms, wall %.3f ms, %.1f elements/s",
+                this.stageName,
+                this.getElementCount(),
+                this.getUpstreamNanos() / 1e6,
+                this.getDownstreamNanos() / 1e6,
+                this.getWallNanos() / 1e6,
+                this.getThroughput());
+    }
+
+    void add(final long elementCount, final long upstreamNanos, final long downstreamNanos) {
+        this.elementCount.add(elementCount);
+        this.upstreamNanos.add(upstreamNanos);
+        this.downstreamNanos.add(downstreamNanos);
+    }
+
+    /**
+     * Sets the start of the traversal unless it has already been set by
+     * another split.
+     */
+    void started(final long nanos) {
+        this.startNanos.compareAndSet(0, nanos);
+    }
+
+    void splitAdded() {
+        this.activeSplits.incrementAndGet();
+    }
+
+    /**
+     * Returns true if the last active split has finished.
+     */
+    boolean splitFinished() {
+        return this.activeSplits.decrementAndGet() == 0;
+    }
+
+    /**
+     * Marks the traversal as completed, returns false if it has already
+     * been completed before.
+     */
+    boolean complete() {
+        final long now = System.nanoTime();
+        final boolean ret = this.completed.compareAndSet(false, true);
+
+        if (ret) {
+            this.endNanos = now;
+        }
+
+        return ret;
+    }
+}
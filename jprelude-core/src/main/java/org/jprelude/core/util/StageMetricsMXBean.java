@@ -0,0 +1,17 @@
+package org.jprelude.core.util;
+
+public interface StageMetricsMXBean {
+    String getStageName();
+
+    long getElementCount();
+
+    long getUpstreamNanos();
+
+    long getDownstreamNanos();
+
+    long getWallNanos();
+
+    double getThroughput();
+
+    boolean isCompleted();
+}
@@ -0,0 +1,257 @@
+package org.jprelude.core.util;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Spliterators for infinite sequences that are generated from a mutable
+ * state. The state is created once per spliterator and each element is
+ * computed by a step function that advances the state, so no per-element
+ * objects are needed. If a jump function is given (which advances a
+ * fresh state by a number of elements), the spliterators can be split:
+ * the split-off prefix keeps the current state and the remaining
+ * spliterator continues with a new state jumped ahead.
+ */
+abstract class UnfoldSpliterator<S> {
+    private static final int BATCH_UNIT = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+
+    private final Supplier<S> stateSupplier;
+    private final ObjLongConsumer<S> jump;
+    private final long end;
+    private S state;
+    private long index;
+    private int batch;
+
+    UnfoldSpliterator(final Supplier<S> stateSupplier, final ObjLongConsumer<S> jump) {
+        this(stateSupplier, jump, stateSupplier.get(), 0, Long.MAX_VALUE);
+    }
+
+    UnfoldSpliterator(
+            final Supplier<S> stateSupplier,
+            final ObjLongConsumer<S> jump,
+            final S state,
+            final long index,
+            final long end) {
+
+        this.stateSupplier = stateSupplier;
+        this.jump = jump;
+        this.state = state;
+        this.index = index;
+        this.end = end;
+        this.batch = 0;
+    }
+
+    public long estimateSize() {
+        return this.end == Long.MAX_VALUE ? Long.MAX_VALUE : this.end - this.index;
+    }
+
+    public int characteristics() {
+        return this.end == Long.MAX_VALUE
+                ? Spliterator.ORDERED
+                : Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    final Supplier<S> getStateSupplier() {
+        return this.stateSupplier;
+    }
+
+    final ObjLongConsumer<S> getJump() {
+        return this.jump;
+    }
+
+    final S getState() {
+        return this.state;
+    }
+
+    /**
+     * Returns whether there is one more element and moves to it.
+     */
+    final boolean advance() {
+        final boolean ret = this.index < this.end;
+
+        if (ret) {
+            ++this.index;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Returns the end of the next prefix to split off or -1.
+     */
+    final long splitPoint() {
+        long ret = -1;
+
+        if (this.jump != null) {
+            if (this.end == Long.MAX_VALUE) {
+                // Infinite: split off batches of growing size
+                this.batch = Math.min(this.batch + BATCH_UNIT, MAX_BATCH);
+                ret = this.index + this.batch;
+            } else if (this.end - this.index >= 2) {
+                ret = this.index + (this.end - this.index) / 2;
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Continues at the given index with a new jumped state, returns the
+     * previous state for the split-off prefix.
+     */
+    final S skipTo(final long newIndex) {
+        final S ret = this.state;
+
+        this.state = this.stateSupplier.get();
+        this.jump.accept(this.state, newIndex);
+        this.index = newIndex;
+
+        return ret;
+    }
+
+    final long getIndex() {
+        return this.index;
+    }
+
+    static final class ObjectUnfold<S, T> extends UnfoldSpliterator<S> implements Spliterator<T> {
+        private final Function<? super S, ? extends T> step;
+
+        ObjectUnfold(final Supplier<S> stateSupplier, final Function<? super S, ? extends T> step, final ObjLongConsumer<S> jump) {
+            super(stateSupplier, jump);
+            this.step = step;
+        }
+
+        private ObjectUnfold(final ObjectUnfold<S, T> parent, final S state, final long index, final long end) {
+            super(parent.getStateSupplier(), parent.getJump(), state, index, end);
+            this.step = parent.step;
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            final boolean ret = this.advance();
+
+            if (ret) {
+                action.accept(this.step.apply(this.getState()));
+            }
+
+            return ret;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final long start = this.getIndex();
+            final long splitEnd = this.splitPoint();
+
+            return splitEnd < 0 ? null : new ObjectUnfold<>(this, this.skipTo(splitEnd), start, splitEnd);
+        }
+    }
+
+    static final class LongUnfold<S> extends UnfoldSpliterator<S> implements Spliterator.OfLong {
+        private final ToLongFunction<? super S> step;
+
+        LongUnfold(final Supplier<S> stateSupplier, final ToLongFunction<? super S> step, final ObjLongConsumer<S> jump) {
+            super(stateSupplier, jump);
+            this.step = step;
+        }
+
+        private LongUnfold(final LongUnfold<S> parent, final S state, final long index, final long end) {
+            super(parent.getStateSupplier(), parent.getJump(), state, index, end);
+            this.step = parent.step;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer action) {
+            final boolean ret = this.advance();
+
+            if (ret) {
+                action.accept(this.step.applyAsLong(this.getState()));
+            }
+
+            return ret;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            final long start = this.getIndex();
+            final long splitEnd = this.splitPoint();
+
+            return splitEnd < 0 ? null : new LongUnfold<>(this, this.skipTo(splitEnd), start, splitEnd);
+        }
+    }
+
+    static final class IntUnfold<S> extends UnfoldSpliterator<S> implements Spliterator.OfInt {
+        private final ToIntFunction<? super S> step;
+
+        IntUnfold(final Supplier<S> stateSupplier, final ToIntFunction<? super S> step, final ObjLongConsumer<S> jump) {
+            super(stateSupplier, jump);
+            this.step = step;
+        }
+
+        private IntUnfold(final IntUnfold<S> parent, final S state, final long index, final long end) {
+            super(parent.getStateSupplier(), parent.getJump(), state, index, end);
+            this.step = parent.step;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            final boolean ret = this.advance();
+
+            if (ret) {
+                action.accept(this.step.applyAsInt(this.getState()));
+            }
+
+            return ret;
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            final long start = this.getIndex();
+            final long splitEnd = this.splitPoint();
+
+            return splitEnd < 0 ? null : new IntUnfold<>(this, this.skipTo(splitEnd), start, splitEnd);
+        }
+    }
+
+    static final class DoubleUnfold<S> extends UnfoldSpliterator<S> implements Spliterator.OfDouble {
+        private final ToDoubleFunction<? super S> step;
+
+        DoubleUnfold(final Supplier<S> stateSupplier, final ToDoubleFunction<? super S> step, final ObjLongConsumer<S> jump) {
+            super(stateSupplier, jump);
+            this.step = step;
+        }
+
+        private DoubleUnfold(final DoubleUnfold<S> parent, final S state, final long index, final long end) {
+            super(parent.getStateSupplier(), parent.getJump(), state, index, end);
+            this.step = parent.step;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            final boolean ret = this.advance();
+
+            if (ret) {
+                action.accept(this.step.applyAsDouble(this.getState()));
+            }
+
+            return ret;
+        }
+
+        @Override
+        public Spliterator.OfDouble trySplit() {
+            final long start = this.getIndex();
+            final long splitEnd = this.splitPoint();
+
+            return splitEnd < 0 ? null : new DoubleUnfold<>(this, this.skipTo(splitEnd), start, splitEnd);
+        }
+    }
+}
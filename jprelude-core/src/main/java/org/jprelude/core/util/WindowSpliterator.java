@@ -0,0 +1,243 @@
+package org.jprelude.core.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator that groups the elements of the underlying spliterator into
+ * windows of a fixed size, starting a new window every step elements.
+ * In reuse mode all windows are read-only views of one backing array
+ * which is overwritten as soon as the next window is requested - not
+ * before, so consumers that pull windows one at a time (e.g. iterators)
+ * still see the current window.
+ */
+final class WindowSpliterator<T> extends Spliterators.AbstractSpliterator<List<T>>
+        implements Consumer<T> {
+
+    private static final Consumer<Object> IGNORE = value -> { };
+
+    private Spliterator<T> source;
+    private final int size;
+    private final int step;
+    private final boolean partial;
+    private final boolean reuse;
+    private Object[] buffer;
+    private View<T> view;
+    private int count;
+    private long toSkip;
+    private boolean shiftPending;
+    private boolean exhausted;
+
+    private WindowSpliterator(
+            final Spliterator<T> source,
+            final int size,
+            final int step,
+            final boolean partial,
+            final boolean reuse) {
+
+        super(Long.MAX_VALUE, source.characteristics() & Spliterator.ORDERED | Spliterator.NONNULL);
+
+        assert size > 0;
+        assert step > 0;
+
+        this.source = source;
+        this.size = size;
+        this.step = step;
+        this.partial = partial;
+        this.reuse = reuse;
+        this.buffer = null;
+        this.view = null;
+        this.count = 0;
+        this.toSkip = 0;
+        this.shiftPending = false;
+        this.exhausted = false;
+    }
+
+    /**
+     * Consecutive chunks of the given size, the last chunk may be shorter.
+     */
+    static <T> WindowSpliterator<T> chunks(final Spliterator<T> source, final int size, final boolean reuse) {
+        return new WindowSpliterator<>(source, size, size, true, reuse);
+    }
+
+    /**
+     * Windows of the given size starting every step elements, incomplete
+     * windows at the end are dropped.
+     */
+    static <T> WindowSpliterator<T> windows(
+            final Spliterator<T> source,
+            final int size,
+            final int step,
+            final boolean reuse) {
+
+        return new WindowSpliterator<>(source, size, step, false, reuse);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super List<T>> action) {
+        boolean ret = false;
+
+        if (this.shiftPending) {
+            this.shift();
+            this.shiftPending = false;
+        }
+
+        if (!this.exhausted) {
+            if (this.buffer == null) {
+                this.buffer = new Object[this.size];
+            }
+
+            while (this.toSkip > 0 && this.source.tryAdvance(IGNORE)) {
+                --this.toSkip;
+            }
+
+            while (this.toSkip == 0 && this.count < this.size && this.source.tryAdvance(this)) {
+            }
+
+            ret = this.count == this.size || this.partial && this.count > 0;
+            this.exhausted = this.count < this.size;
+
+            if (ret) {
+                action.accept(this.window());
+
+                // The shared buffer must not change until the next window is requested
+                if (this.reuse) {
+                    this.shiftPending = true;
+                } else {
+                    this.shift();
+                }
+            }
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void accept(final T value) {
+        this.buffer[this.count++] = value;
+    }
+
+    @Override
+    public Spliterator<List<T>> trySplit() {
+        Spliterator<List<T>> ret = null;
+
+        final boolean aligned = this.count == 0
+                && this.toSkip == 0
+                && !this.shiftPending
+                && !this.exhausted
+                && this.step >= this.size
+                && this.source.hasCharacteristics(Spliterator.SUBSIZED);
+
+        if (aligned) {
+            Spliterator<T> prefix = this.source.trySplit();
+
+            if (prefix != null) {
+                final long remainder = prefix.getExactSizeIfKnown() % this.step;
+
+                // The prefix has to end at a window boundary
+                if (remainder != 0) {
+                    prefix = SeqSupport.append(prefix, SeqSupport.take(this.source, this.step - remainder));
+                }
+
+                if (this.source.estimateSize() > 0) {
+                    ret = new WindowSpliterator<>(prefix, this.size, this.step, this.partial, this.reuse);
+                } else {
+                    // Nothing left for this spliterator, splitting failed
+                    this.source = prefix;
+                }
+            }
+        } else if (!this.reuse) {
+            ret = super.trySplit();
+        }
+
+        return ret;
+    }
+
+    @Override
+    public long estimateSize() {
+        final long n = this.source.estimateSize();
+        final long ret;
+
+        if (n == Long.MAX_VALUE) {
+            ret = n;
+        } else if (this.partial) {
+            ret = (n + this.count + this.step - 1) / this.step;
+        } else {
+            ret = n + this.count < this.size ? 0 : (n + this.count - this.size) / this.step + 1;
+        }
+
+        return ret;
+    }
+
+    private List<T> window() {
+        final View<T> ret;
+
+        if (!this.reuse) {
+            ret = new View<>(Arrays.copyOf(this.buffer, this.count), this.count);
+        } else {
+            if (this.view == null) {
+                this.view = new View<>(this.buffer, this.count);
+            }
+
+            this.view.reset(this.count);
+            ret = this.view;
+        }
+
+        return ret;
+    }
+
+    private void shift() {
+        if (this.step >= this.size) {
+            this.toSkip = this.step - this.size;
+            this.count = 0;
+        } else {
+            System.arraycopy(this.buffer, this.step, this.buffer, 0, this.size - this.step);
+            this.count = this.size - this.step;
+        }
+
+        Arrays.fill(this.buffer, this.count, this.size, null);
+    }
+
+    /**
+     * Read-only list view of the first elements of an array.
+     */
+    static final class View<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] array;
+        private int length;
+
+        View(final Object[] array, final int length) {
+            this.array = array;
+            this.length = length;
+        }
+
+        @Override
+        public T get(final int index) {
+            if (index < 0 || index >= this.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.length);
+            }
+
+            @SuppressWarnings("unchecked")
+            final T ret = (T) this.array[index];
+
+            return ret;
+        }
+
+        @Override
+        public int size() {
+            return this.length;
+        }
+
+        boolean isViewOf(final Object[] array) {
+            return this.array == array;
+        }
+
+        void reset(final int length) {
+            this.length = length;
+        }
+    }
+}
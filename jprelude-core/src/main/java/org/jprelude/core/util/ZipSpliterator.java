@@ -0,0 +1,154 @@
+package org.jprelude.core.util;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator that combines two spliterators pairwise. If both sides are
+ * SUBSIZED and about equally long they are split at the same index,
+ * otherwise batches of zipped elements are split off like
+ * Spliterators.AbstractSpliterator does. Aligning sides of very different
+ * lengths would buffer the surplus of the longer side.
+ */
+final class ZipSpliterator<A, B, R> implements Spliterator<R> {
+    private static final int BATCH_UNIT = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+    private static final long MAX_ALIGNED_SIZE_DIFFERENCE = BATCH_UNIT;
+
+    private final Spliterator<A> left;
+    private final Spliterator<B> right;
+    private final Zipper<? super A, ? super B, ? extends R> zipper;
+    private final Consumer<A> leftSink;
+    private final Consumer<B> rightSink;
+    private long index;
+    private int batch;
+    private A leftValue;
+    private B rightValue;
+
+    ZipSpliterator(
+            final Spliterator<A> left,
+            final Spliterator<B> right,
+            final Zipper<? super A, ? super B, ? extends R> zipper) {
+
+        this(left, right, zipper, 0);
+    }
+
+    private ZipSpliterator(
+            final Spliterator<A> left,
+            final Spliterator<B> right,
+            final Zipper<? super A, ? super B, ? extends R> zipper,
+            final long index) {
+
+        this.left = left;
+        this.right = right;
+        this.zipper = zipper;
+        this.leftSink = value -> this.leftValue = value;
+        this.rightSink = value -> this.rightValue = value;
+        this.index = index;
+        this.batch = 0;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+        final boolean ret = this.left.tryAdvance(this.leftSink)
+                && this.right.tryAdvance(this.rightSink);
+
+        if (ret) {
+            final A a = this.leftValue;
+            final B b = this.rightValue;
+
+            this.leftValue = null;
+            this.rightValue = null;
+            action.accept(this.zipper.apply(a, b, this.index++));
+        }
+
+        return ret;
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        final Spliterator<R> ret;
+
+        if (this.left.hasCharacteristics(Spliterator.SUBSIZED)
+                && this.right.hasCharacteristics(Spliterator.SUBSIZED)
+                && Math.abs(this.left.getExactSizeIfKnown() - this.right.getExactSizeIfKnown())
+                        <= MAX_ALIGNED_SIZE_DIFFERENCE) {
+
+            ret = this.splitAligned();
+        } else {
+            ret = this.splitBatch();
+        }
+
+        return ret;
+    }
+
+    private Spliterator<R> splitAligned() {
+        Spliterator<A> leftPrefix = this.left.trySplit();
+        Spliterator<B> rightPrefix = this.right.trySplit();
+        Spliterator<R> ret = null;
+
+        if (leftPrefix != null || rightPrefix != null) {
+            final long leftSize = leftPrefix == null ? 0 : leftPrefix.getExactSizeIfKnown();
+            final long rightSize = rightPrefix == null ? 0 : rightPrefix.getExactSizeIfKnown();
+
+            // The sides may have been split at different positions, so the
+            // shorter prefix is topped up from the front of its suffix.
+            if (leftSize < rightSize) {
+                leftPrefix = SeqSupport.append(
+                        leftPrefix, SeqSupport.take(this.left, rightSize - leftSize));
+            } else if (rightSize < leftSize) {
+                rightPrefix = SeqSupport.append(
+                        rightPrefix, SeqSupport.take(this.right, leftSize - rightSize));
+            }
+
+            final long offset = this.index;
+
+            this.index += Math.min(
+                    leftPrefix.getExactSizeIfKnown(),
+                    rightPrefix.getExactSizeIfKnown());
+
+            ret = new ZipSpliterator<>(leftPrefix, rightPrefix, this.zipper, offset);
+        }
+
+        return ret;
+    }
+
+    private Spliterator<R> splitBatch() {
+        Spliterator<R> ret = null;
+
+        if (this.estimateSize() > 1) {
+            final int n = Math.min(this.batch + BATCH_UNIT, MAX_BATCH);
+            final Object[] values = new Object[n];
+            final int[] count = {0};
+
+            while (count[0] < n && this.tryAdvance(value -> values[count[0]++] = value)) {
+                // keep on collecting
+            }
+
+            if (count[0] > 0) {
+                this.batch = count[0];
+                ret = Spliterators.spliterator(values, 0, count[0], Spliterator.ORDERED);
+            }
+        }
+
+        return ret;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.min(this.left.estimateSize(), this.right.estimateSize());
+    }
+
+    @Override
+    public int characteristics() {
+        return this.left.characteristics()
+                & this.right.characteristics()
+                & (Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED);
+    }
+
+    @FunctionalInterface
+    interface Zipper<A, B, R> {
+        R apply(A a, B b, long index);
+    }
+}
@@ -0,0 +1,23 @@
+package org.jprelude.core.util;
+
+import java.util.DoubleSummaryStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DoubleSeqTest {
+    @Test
+    public void testAggregates() {
+        final DoubleSummaryStatistics stats = DoubleSeq.of(1.5, 2.5, 3.5).summaryStatistics();
+
+        Assert.assertEquals(7.5, stats.getSum(), 0.0);
+        Assert.assertEquals(1.5, stats.getMin(), 0.0);
+        Assert.assertEquals(3.5, stats.getMax(), 0.0);
+    }
+
+    @Test
+    public void testMethodToArray() {
+        final double[] result = DoubleSeq.of(1.0, 2.0, 3.0).map(x -> x / 2).toArray();
+
+        Assert.assertArrayEquals(new double[] {0.5, 1.0, 1.5}, result, 0.0);
+    }
+}
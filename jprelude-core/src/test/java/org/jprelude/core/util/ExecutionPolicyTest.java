@@ -0,0 +1,54 @@
+package org.jprelude.core.util;
+
+import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ExecutionPolicyTest {
+    @Test
+    public void testTerminalOperationsRunInPool() {
+        final ForkJoinPool pool;
+        
+        try (final ExecutionPolicy policy = ExecutionPolicy.builder().parallelism(2).build()) {
+            pool = policy.getPool();
+            
+            Assert.assertNotSame(ForkJoinPool.commonPool(), pool);
+            Assert.assertTrue(Seq.range(0, 10_000).parallel(policy).allMatch(n -> ForkJoinTask.getPool() == pool));
+            Assert.assertTrue(Seq.range(0, 10_000).parallel(policy).map(n -> n + 1).chunked(10).allMatch(n -> ForkJoinTask.getPool() == pool));
+            Assert.assertEquals(Seq.range(0, 10_000).toList(), Seq.range(0, 10_000).parallel(policy).filter(n -> true).toList());
+            Assert.assertEquals(10_000, Seq.range(0, 10_000).parallel(policy).mapToInt(n -> ForkJoinTask.getPool() == pool ? 1 : 0).sum());
+            Assert.assertEquals(10_000L, Seq.range(0, 10_000).parallel(policy).mapToLong(n -> ForkJoinTask.getPool() == pool ? 1 : 0).sum());
+            Assert.assertEquals(10_000.0, Seq.range(0, 10_000).parallel(policy).mapToDouble(n -> ForkJoinTask.getPool() == pool ? 1 : 0).sum(), 0.0);
+        }
+        
+        Assert.assertTrue(pool.isShutdown());
+    }
+    
+    @Test
+    public void testGivenPoolIsNotShutDown() {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        
+        try (final ExecutionPolicy policy = ExecutionPolicy.builder().pool(pool).build()) {
+            Assert.assertSame(pool, policy.getPool());
+            Assert.assertEquals(10_000L, Seq.range(0, 10_000).parallel(policy).count());
+        }
+        
+        Assert.assertFalse(pool.isShutdown());
+        
+        pool.shutdown();
+    }
+    
+    @Test
+    public void testMinBatchSizeAndUnordered() {
+        final ExecutionPolicy policy = ExecutionPolicy.builder()
+                .minBatchSize(10_000)
+                .ordered(false)
+                .build();
+        
+        Assert.assertFalse(policy.isOrdered());
+        Assert.assertEquals(1, Seq.range(0, 10_000).parallel(policy).map(n -> Thread.currentThread()).collect(HashSet::new, HashSet::add, HashSet::addAll).size());
+        Assert.assertEquals(10_000L, Seq.range(0, 10_000).parallel(policy).count());
+    }
+}
@@ -0,0 +1,33 @@
+package org.jprelude.core.util;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GroupedSeqTest {
+    @Test
+    public void testAggregations() {
+        final Seq<Integer> seq = Seq.range(0, 10_000);
+        final GroupedSeq<Integer, Integer> grouped = seq.groupBy(n -> n % 3);
+        final Map<Integer, Long> expectedCounts = new HashMap<>();
+        final Map<Integer, Long> expectedSums = new HashMap<>();
+        
+        seq.forEach(n -> {
+            expectedCounts.merge(n % 3, 1L, Long::sum);
+            expectedSums.merge(n % 3, (long) n, Long::sum);
+        });
+        
+        Assert.assertEquals(expectedCounts, grouped.count());
+        Assert.assertEquals(expectedCounts, seq.parallel().groupBy(n -> n % 3).count());
+        Assert.assertEquals(expectedCounts, seq.parallel().groupBy(n -> n % 3).concurrent().count());
+        Assert.assertEquals(expectedSums, seq.parallel().groupBy(n -> n % 3).sumLong(n -> n));
+        Assert.assertEquals(expectedSums, seq.parallel().groupBy(n -> n % 3).concurrent().sumLong(n -> n));
+        Assert.assertEquals(4999.5, seq.parallel().groupBy(n -> "all").avg(n -> n).get("all"), 1e-9);
+        Assert.assertEquals(Integer.valueOf(2), grouped.min(Comparator.naturalOrder()).get(2));
+        Assert.assertEquals(Integer.valueOf(9998), seq.parallel().groupBy(n -> n % 3).max(Comparator.naturalOrder()).get(2));
+        Assert.assertEquals(3333, grouped.summaryStatisticsLong(n -> n).get(0).getMax() / 3);
+        Assert.assertEquals(4999.5, seq.parallel().groupBy(n -> "all").summaryStatisticsDouble(n -> n).get("all").getAverage(), 1e-9);
+    }
+}
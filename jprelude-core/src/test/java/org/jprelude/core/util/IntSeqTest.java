@@ -0,0 +1,29 @@
+package org.jprelude.core.util;
+
+import java.util.IntSummaryStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntSeqTest {
+    @Test
+    public void testAggregates() {
+        final IntSeq seq = IntSeq.range(1, 11);
+        final IntSummaryStatistics stats = seq.summaryStatistics();
+
+        Assert.assertEquals(55, seq.sum());
+        Assert.assertEquals(1, seq.min().getAsInt());
+        Assert.assertEquals(10, seq.max().getAsInt());
+        Assert.assertEquals(10, stats.getCount());
+        Assert.assertEquals(5.5, stats.getAverage(), 0.0);
+    }
+
+    @Test
+    public void testMethodToArray() {
+        final int[] result = IntSeq.of(1, 2, 3, 4, 5, 6)
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 10)
+            .toArray();
+
+        Assert.assertArrayEquals(new int[] {20, 40, 60}, result);
+    }
+}
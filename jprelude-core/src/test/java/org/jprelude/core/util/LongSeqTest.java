@@ -0,0 +1,22 @@
+package org.jprelude.core.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LongSeqTest {
+    @Test
+    public void testAggregates() {
+        final LongSeq seq = LongSeq.rangeClosed(1L, 1_000_000L).parallel();
+
+        Assert.assertEquals(500_000_500_000L, seq.sum());
+        Assert.assertEquals(1L, seq.min().getAsLong());
+        Assert.assertEquals(1_000_000L, seq.max().getAsLong());
+    }
+
+    @Test
+    public void testMethodToArray() {
+        final long[] result = LongSeq.iterate(1L, n -> n * 2).take(5).toArray();
+
+        Assert.assertArrayEquals(new long[] {1L, 2L, 4L, 8L, 16L}, result);
+    }
+}
@@ -1,9 +1,37 @@
 package org.jprelude.core.util;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.junit.Assert;
 import org.junit.Test;
+import org.reactivestreams.Publisher;
 
 public class SeqTest {
     @Test
@@ -48,4 +76,762 @@ public class SeqTest {
  
         Assert.assertArrayEquals(result.toArray(), expected);
     }
+    
+    @Test
+    public void testMethodMapToLong() {
+        final long sum = Seq.of("a", "bb", "ccc")
+            .mapToLong(String::length)
+            .sum();
+        
+        Assert.assertEquals(6L, sum);
+    }
+    
+    @Test
+    public void testMethodMapIndexedInParallel() {
+        final Object[] result = Seq.range(0, 100_000)
+            .parallel()
+            .map((n, idx) -> n - idx)
+            .filter((n, idx) -> idx % 1000 == 0)
+            .toArray();
+        
+        Assert.assertEquals(100, result.length);
+        Assert.assertTrue(Seq.from(result).allMatch(n -> ((Long) n) == 0L));
+    }
+    
+    @Test
+    public void testMethodForEachIndexed() {
+        final long[] sum = {0L};
+
+        Seq.of("a", "b", "c").forEach((s, idx) -> sum[0] += idx);
+        
+        Assert.assertEquals(3L, sum[0]);
+    }
+    
+    @Test
+    public void testMethodZipInParallel() {
+        final Seq<Integer> seq1 = Seq.range(0, 200_000);
+        final Seq<Long> seq2 = Seq.range(0L, 150_001L).map(n -> n * 2);
+        final Seq<Long> result = seq1.parallel().zip(seq2, (n, m, idx) -> m - n - idx);
+        
+        Assert.assertEquals(150_001L, result.count());
+        Assert.assertTrue(result.allMatch(v -> v == 0L));
+        Assert.assertTrue(result.stream().spliterator().hasCharacteristics(Spliterator.SIZED));
+        
+        final Seq<Integer> unsized = Seq.iterate(0, n -> n + 1);
+        
+        Assert.assertEquals(
+            Seq.range(0, 50_000).zip(unsized, (n, m) -> n + m).parallel().toList(),
+            Seq.range(0, 50_000).map(n -> n * 2).toList());
+        
+        // Sides of very different sizes must not be aligned by buffering
+        Assert.assertEquals(
+            Arrays.asList(0L, 2L, 4L),
+            Seq.range(0L, 2_000_000_000L).parallel().zip(Seq.range(0, 3), (n, m) -> n + m).toList());
+        
+        Assert.assertEquals(3, SeqSupport.take(Seq.range(0, 3).stream().spliterator(), Long.MAX_VALUE).length);
+        Assert.assertEquals(100, SeqSupport.take(Seq.iterate(0, n -> n + 1).stream().spliterator(), 100).length);
+    }
+    
+    @Test
+    public void testFactoryFromBlockReaderWithReadAhead() {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        
+        try {
+            final BiFunction<Long, Long, Collection<Long>> blockReader = (offset, blockSize) ->
+                Seq.range(offset, Math.min(offset + blockSize, 1000L)).toList();
+
+            Assert.assertEquals(
+                Seq.range(5L, 1000L).toList(),
+                Seq.from(blockReader, 10, 5, 3).toList());
+            
+            Assert.assertEquals(
+                Seq.range(0L, 1000L).toList(),
+                Seq.from(blockReader, 7, 0, 8, executor).toList());
+            
+            Assert.assertEquals(
+                Seq.range(0L, 15L).toList(),
+                Seq.from(blockReader, 10, 0, 4, executor).take(15).toList());
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    public void testMethodForceOnDemand() throws Exception {
+        final AtomicInteger pulled = new AtomicInteger();
+        final Seq<Integer> seq = Seq.iterate(0, n -> n + 1)
+            .peek(n -> pulled.incrementAndGet())
+            .take(10_000)
+            .forceOnDemand();
+        
+        Assert.assertEquals(Arrays.asList(0, 1, 2), seq.take(3).toList());
+        Assert.assertTrue(pulled.get() < 10_000);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Long>> sums = new ArrayList<>();
+        
+        try {
+            for (int i = 0; i < 8; ++i) {
+                sums.add(executor.submit(() -> seq.stream().mapToLong(n -> n).sum()));
+            }
+
+            for (final Future<Long> sum : sums) {
+                Assert.assertEquals(49_995_000L, (long) sum.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        Assert.assertEquals(10_000, pulled.get());
+        Assert.assertEquals(10_000L, seq.count());
+        Assert.assertEquals(49_995_000L, seq.parallel().mapToLong(n -> n).sum());
+    }
+    
+    @Test
+    public void testMethodForce() {
+        final Seq<Integer> seq = Seq.of(1, 2, 3).force();
+        
+        Assert.assertEquals(Arrays.asList(1, 2, 3), seq.toList());
+        Assert.assertEquals(3L, seq.count());
+    }
+    
+    @Test
+    public void testMethodForceToDisk() throws IOException {
+        final Path directory = Files.createTempDirectory("jprelude-test");
+        
+        try (final SpilledSeq<String> seq = Seq.range(0, 10_000)
+                .map(n -> n % 100 == 0 ? null : "Line " + n)
+                .forceToDisk(Codec.forString(), 100, directory)) {
+            
+            Assert.assertTrue(seq.isSpilled());
+            Assert.assertEquals(10_000L, seq.count());
+            Assert.assertEquals("Line 9999", seq.skipWhile(line -> !"Line 9999".equals(line)).head());
+            Assert.assertEquals(Seq.range(0, 10_000).map(n -> n % 100 == 0 ? null : "Line " + n).toList(), seq.toList());
+            Assert.assertEquals(1L, Files.list(directory).count());
+        }
+        
+        Assert.assertEquals(0L, Files.list(directory).count());
+        Files.delete(directory);
+    }
+    
+    @Test
+    public void testMethodSortedExternally() {
+        final Random random = new Random(42);
+        final List<Integer> values = Seq.generate(() -> random.nextInt(1000)).take(10_000).toList();
+        final List<Integer> expected = Seq.from(values).sorted().toList();
+        
+        Assert.assertEquals(expected, Seq.from(values).sorted(Codec.forInteger(), 512).toList());
+        Assert.assertEquals(expected, Seq.from(values).parallel().sorted(Codec.forInteger(), 512).toList());
+        Assert.assertEquals(Arrays.asList(0, 0, 0), Seq.from(values).sorted(Codec.forInteger(), 512).take(3).toList());
+
+        // 500 runs need an intermediate merge pass
+        Assert.assertEquals(expected, Seq.from(values).sorted(Codec.forInteger(), 20).toList());
+        
+        final List<String> lines = Seq.from(values).map((n, idx) -> n + ":" + idx).toList();
+        final List<String> sortedLines = Seq.from(lines)
+            .sortedDesc(line -> Integer.parseInt(line.split(":")[0]), Codec.forString(), 777)
+            .toList();
+        
+        Assert.assertEquals(
+            Seq.from(lines).sorted(Comparator.comparing((String line) -> -Integer.parseInt(line.split(":")[0]))).toList(),
+            sortedLines);
+    }
+    
+    @Test
+    public void testMethodsSortedAscAndDesc() {
+        Assert.assertTrue(Seq.range(0, 10).parallel().sortedDesc(n -> n).stream().isParallel());
+
+        final Random random = new Random(7);
+        final List<Long> numbers = Seq.generate(() -> random.nextLong() % 1000).take(5000).toList();
+        final List<String> words = Seq.generate(() -> Long.toString(random.nextInt(100_000), 36)).take(5000).toList();
+
+        Assert.assertEquals(
+            Seq.from(numbers).sorted().toList(),
+            Seq.from(numbers).sortedAsc(n -> n).toList());
+        
+        Assert.assertEquals(
+            Seq.from(numbers).sorted(Comparator.reverseOrder()).toList(),
+            Seq.from(numbers).sortedDesc(n -> n).toList());
+        
+        Assert.assertEquals(
+            Seq.from(words).sorted().toList(),
+            Seq.from(words).sortedAsc(w -> w).toList());
+
+        Assert.assertEquals(
+            Seq.from(words).sorted(Comparator.comparing(String::length).reversed()).toList(),
+            Seq.from(words).sortedDesc(String::length).toList());
+
+        Assert.assertEquals(
+            Arrays.asList(null, "b", "a"),
+            Seq.of("a", null, "b").sortedAsc(w -> w == null ? null : -w.charAt(0)).toList());
+        
+        Assert.assertEquals(
+            Arrays.asList(new BigDecimal("2.5"), new BigDecimal("1.5")),
+            Seq.of(new BigDecimal("1.5"), new BigDecimal("2.5")).sortedDesc(n -> n).toList());
+    }
+    
+    @Test
+    public void testMethodDistinctByKey() {
+        final Random random = new Random(7);
+        final List<Integer> values = Seq.generate(() -> random.nextInt(5000)).take(20_000).toList();
+        final List<Integer> expected = new ArrayList<>(new LinkedHashSet<>(values));
+        
+        Assert.assertEquals(expected, Seq.from(values).distinct(n -> (long) n).toList());
+        Assert.assertEquals(expected, Seq.from(values).parallel().distinct(n -> (long) n).toList());
+        Assert.assertEquals(Arrays.asList("a", "B", "c"), Seq.of("a", "A", "B", "c", "b").distinct(s -> s.toLowerCase()).toList());
+        Assert.assertEquals(Arrays.asList(1, 2), Seq.of(1, 2, 3, 4).distinct(n -> n % 2 == 0 ? (Object) 2 : (Object) 1L).toList());
+        
+        final List<Integer> spilled = Seq.from(values).distinct(n -> n, Codec.forInteger(), 100).toList();
+        
+        Assert.assertEquals(expected.subList(0, 100), spilled.subList(0, 100));
+        Assert.assertEquals(new HashSet<>(expected), new HashSet<>(spilled));
+        Assert.assertEquals(expected.size(), spilled.size());
+        
+        // 5000 keys exceed the budget of 16 partitions, so partitions are split again
+        final List<Integer> resplit = Seq.from(values).distinct(n -> n, Codec.forInteger(), 10).toList();
+        
+        Assert.assertEquals(expected.subList(0, 10), resplit.subList(0, 10));
+        Assert.assertEquals(new HashSet<>(expected), new HashSet<>(resplit));
+        Assert.assertEquals(expected.size(), resplit.size());
+        
+        final long approximateCount = Seq.from(values).distinctApproximately(n -> n, 5000, 0.01).count();
+        
+        Assert.assertTrue(approximateCount <= expected.size());
+        Assert.assertTrue(approximateCount >= expected.size() * 0.95);
+    }
+    
+    @Test
+    public void testMethodsChunkedAndSliding() {
+        Assert.assertEquals(
+                Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Arrays.asList(7)),
+                Seq.range(1, 8).chunked(3).toList());
+        
+        Assert.assertEquals(
+                Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(3, 4, 5), Arrays.asList(5, 6, 7)),
+                Seq.range(1, 8).sliding(3, 2).toList());
+        
+        Assert.assertEquals(
+                Arrays.asList(Arrays.asList(1, 2), Arrays.asList(5, 6)),
+                Seq.range(1, 8).sliding(2, 4).toList());
+        
+        Assert.assertEquals(
+                Arrays.asList(Arrays.asList("#1", "a"), Arrays.asList("#2"), Arrays.asList("#3", "b", "c")),
+                Seq.of("#1", "a", "#2", "#3", "b", "c").chunkedBy(s -> s.startsWith("#")).toList());
+        
+        Assert.assertEquals(
+                Arrays.asList(6, 15, 7),
+                Seq.range(1, 8).chunked(3, true).map(chunk -> chunk.stream().mapToInt(n -> n).sum()).toList());
+        
+        final List<Integer> values = Seq.range(0, 100_000).toList();
+        
+        Assert.assertEquals(
+                Seq.from(values).chunked(7).toList(),
+                Seq.from(values).parallel().chunked(7).toList());
+        
+        Assert.assertEquals(
+                Seq.from(values).sliding(3, 10).toList(),
+                Seq.from(values).parallel().sliding(3, 10).toList());
+        
+        Assert.assertEquals(
+                Seq.from(values).chunked(7).map(chunk -> chunk.get(0)).toList(),
+                Seq.from(values).parallel().chunked(7, true).map(chunk -> chunk.get(0)).toList());
+        
+        // Reused buffers must stay intact until the next element is pulled
+        final Iterator<List<Integer>> windows = Seq.range(1, 8).sliding(3, 2, true).stream().iterator();
+        
+        Assert.assertEquals(Arrays.asList(1, 2, 3), windows.next());
+        Assert.assertEquals(Arrays.asList(3, 4, 5), windows.next());
+        
+        final Iterator<List<String>> chunks = Seq.of("#1", "a", "#2", "b").chunkedBy(s -> s.startsWith("#"), true).stream().iterator();
+        
+        Assert.assertEquals(Arrays.asList("#1", "a"), chunks.next());
+        Assert.assertEquals(Arrays.asList("#2", "b"), chunks.next());
+        
+        Assert.assertEquals(
+                Arrays.asList("a[1, 2, 3]", "b[4, 5, 6]", "c[7]"),
+                Seq.range(1, 8).chunked(3, true).zip(Seq.of("a", "b", "c"), (chunk, s) -> s + chunk).toList());
+    }
+    
+    @Test
+    public void testMethodMapAsync() throws InterruptedException {
+        final AtomicInteger running = new AtomicInteger(0);
+        final AtomicInteger maxRunning = new AtomicInteger(0);
+        
+        final List<Integer> result = Seq.range(0, 200).mapAsync(n -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            
+            try {
+                Thread.sleep(n % 7);
+            } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            
+            running.decrementAndGet();
+            return n * 2;
+        }, 8).toList();
+        
+        Assert.assertEquals(Seq.range(0, 200).map(n -> n * 2).toList(), result);
+        Assert.assertTrue(maxRunning.get() <= 8);
+        
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final AtomicInteger started = new AtomicInteger(0);
+        
+        try {
+            Seq.range(0, 1000).mapAsync(n -> {
+                started.incrementAndGet();
+                
+                if (n == 10) {
+                    throw new IllegalStateException("Failure " + n);
+                }
+                
+                return n;
+            }, 4, executor).toList();
+            
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("Failure 10", e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+        
+        Assert.assertTrue(started.get() < 1000);
+    }
+    
+    @Test
+    public void testMethodsTopNAndBottomN() {
+        final Random random = new Random(11);
+        final List<Integer> values = Seq.generate(() -> random.nextInt(1000)).take(50_000).toList();
+        final Comparator<Integer> byTens = Comparator.comparing(n -> n / 10);
+        
+        Assert.assertEquals(
+                Seq.from(values).sorted(byTens.reversed()).take(100).toList(),
+                Seq.from(values).topN(100, byTens).toList());
+        
+        Assert.assertEquals(
+                Seq.from(values).sorted(byTens.reversed()).take(100).toList(),
+                Seq.from(values).parallel().topN(100, byTens).toList());
+        
+        Assert.assertEquals(
+                Seq.from(values).sorted(byTens).take(100).toList(),
+                Seq.from(values).parallel().bottomN(100, byTens).toList());
+        
+        Assert.assertEquals(Arrays.asList(3, 2, 1), Seq.of(1, 3, 2).topN(10, Comparator.naturalOrder()).toList());
+        Assert.assertEquals(0L, Seq.of(1, 3, 2).topN(0, Comparator.naturalOrder()).count());
+        
+        final AtomicInteger closed = new AtomicInteger(0);
+        final Seq<Integer> source = () -> Stream.of(1, 3, 2).onClose(() -> closed.incrementAndGet());
+        
+        Assert.assertEquals(Arrays.asList(3, 2), source.topN(2, Comparator.naturalOrder()).toList());
+        Assert.assertEquals(1, closed.get());
+        Assert.assertTrue(Seq.from(values).parallel().topN(10, byTens).stream().isParallel());
+        Assert.assertFalse(Seq.from(values).topN(10, byTens).stream().isParallel());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testMethodBottomNWithNegativeCount() {
+        Seq.of(1, 2, 3).bottomN(-1, Comparator.naturalOrder());
+    }
+    
+    @Test
+    public void testLazyConcatAndFlatMap() {
+        final AtomicInteger opened = new AtomicInteger(0);
+        final AtomicInteger closed = new AtomicInteger(0);
+        
+        final Seq<Integer> seq1 = () -> {
+            opened.incrementAndGet();
+            return Stream.of(1, 2, 3).onClose(() -> closed.incrementAndGet());
+        };
+        
+        final Seq<Integer> seq2 = () -> {
+            opened.incrementAndGet();
+            return Stream.of(4, 5).onClose(() -> closed.incrementAndGet());
+        };
+        
+        final Seq<Integer> concatenated = Seq.concat(seq1, seq2);
+        
+        Assert.assertEquals(0, opened.get());
+        Assert.assertEquals(Integer.valueOf(1), concatenated.headOrNull());
+        Assert.assertEquals(1, opened.get());
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4, 5), concatenated.toList());
+        Assert.assertEquals(3, opened.get());
+        Assert.assertEquals(3, closed.get());
+        
+        Assert.assertEquals(
+                Arrays.asList(1, 1, 1, 2, 2),
+                Seq.of(1, 2).flatMap(n -> Seq.generate(() -> n).take(3)).take(5).toList());
+        
+        Assert.assertEquals(
+                Seq.range(0, 1000).flatMap(n -> Seq.of(n, -n)).toList(),
+                Seq.range(0, 1000).parallel().flatMap(n -> n % 2 == 0 ? Seq.of(n, -n) : Seq.of(n).append(-n)).toList());
+        
+        // Splitting after a partial traversal hands over the inner sequence in progress
+        final Seq<Integer> outer = Seq.from(Seq.range(1, 1000).toList());
+        final Spliterator<Integer> spliterator = outer.flatMap(n -> Seq.of(n, -n)).stream().spliterator();
+        final List<Integer> values = new ArrayList<>();
+        
+        Assert.assertTrue(spliterator.tryAdvance(n -> { values.add(n); }));
+        
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        
+        Assert.assertNotNull(prefix);
+        prefix.forEachRemaining(n -> { values.add(n); });
+        spliterator.forEachRemaining(n -> { values.add(n); });
+        
+        Assert.assertEquals(outer.flatMap(n -> Seq.of(n, -n)).toList(), values);
+    }
+    
+    @Test
+    public void testFusedOperations() {
+        final AtomicInteger generated = new AtomicInteger(0);
+        
+        final Seq<Integer> seq = Seq.generate(() -> generated.getAndIncrement())
+                .map(n -> n * 3)
+                .filter(n -> n % 2 == 0)
+                .skip(2)
+                .peek(n -> { })
+                .take(4);
+        
+        Assert.assertEquals(Arrays.asList(12, 18, 24, 30), seq.toList());
+        Assert.assertEquals(11, generated.get());
+        
+        Assert.assertEquals(Arrays.asList(2, 3), Seq.of(1, 2, 3).tail().toList());
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3), Seq.of(1, 2, 3).prependMany(0).toList());
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4), Seq.of(1, 2, 3).appendMany(4).toList());
+        
+        final Seq<Integer> pipeline = Seq.range(0, 10_000).map(n -> n + 1).filter(n -> n % 3 != 0).skip(10).take(5000);
+        final List<Integer> expected = Seq.range(0, 10_000).stream().map(n -> n + 1).filter(n -> n % 3 != 0).skip(10).limit(5000).collect(Collectors.toList());
+        
+        Assert.assertEquals(expected, pipeline.toList());
+        Assert.assertEquals(expected, pipeline.parallel().toList());
+        Assert.assertEquals(expected, Seq.range(0, 10_000).parallel().map(n -> n + 1).filter(n -> n % 3 != 0).skip(10).take(5000).toList());
+        Assert.assertEquals(5000L, pipeline.count());
+    }
+    
+    @Test
+    public void testFactoryUnfold() {
+        Assert.assertEquals(
+                Arrays.asList(0, 1, 1, 2, 3, 5, 8),
+                Seq.iterate(0, 1, (a, b) -> a + b).take(7).toList());
+        
+        Assert.assertEquals(
+                Arrays.asList(1, 1, 1, 3, 5, 9, 17),
+                Seq.iterate(1, 1, 1, (a, b, c) -> a + b + c).take(7).toList());
+        
+        // Linear congruential generator with jump ahead
+        final long a = 6364136223846793005L;
+        final long c = 1442695040888963407L;
+        
+        final LongSeq random = LongSeq.unfold(() -> new long[] { 42 }, state -> state[0] = a * state[0] + c, (state, n) -> {
+            for (long i = 0; i < n; ++i) {
+                state[0] = a * state[0] + c;
+            }
+        });
+        
+        final long[] expected = random.stream().limit(100_000).toArray();
+        
+        Assert.assertArrayEquals(expected, random.stream().parallel().limit(100_000).toArray());
+        Assert.assertEquals(
+                Seq.range(0, 10_000).toList(),
+                Seq.unfold(() -> new int[1], state -> state[0]++, (state, n) -> state[0] += n).parallel().take(10_000).toList());
+    }
+    
+    @Test
+    public void testMethodsCancellableAndWithDeadline() {
+        final CancellationToken token = CancellationToken.create();
+        final AtomicInteger closed = new AtomicInteger(0);
+        final Seq<Integer> source = () -> Stream.iterate(0, n -> n + 1).onClose(() -> closed.incrementAndGet());
+        
+        try {
+            source.cancellable(token).forEach(n -> {
+                if (n == 100) {
+                    token.cancel();
+                }
+            });
+            
+            Assert.fail();
+        } catch (final SeqCancellationException e) {
+            Assert.assertEquals(1, closed.get());
+        }
+        
+        try {
+            source.withDeadline(Duration.ofMillis(50)).forEach(n -> { });
+            Assert.fail();
+        } catch (final SeqCancellationException e) {
+            Assert.assertTrue(e.getMessage().contains("Deadline"));
+            Assert.assertEquals(2, closed.get());
+        }
+        
+        Assert.assertEquals(10L, Seq.range(0, 10).withDeadline(Duration.ofSeconds(10)).count());
+    }
+    
+    @Test
+    public void testMethodsToPublisherAndFromPublisher() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final AtomicInteger closed = new AtomicInteger(0);
+        final Seq<Integer> source = () -> IntStream.range(0, 1000).boxed().onClose(() -> closed.incrementAndGet());
+
+        try {
+            final Publisher<Integer> publisher = source.toPublisher(executor);
+
+            Assert.assertEquals(
+                    source.toList(),
+                    Seq.fromPublisher(publisher, 16).toList());
+
+            Assert.assertEquals(
+                    Arrays.asList(0, 1, 2),
+                    Seq.fromPublisher(publisher, 2).take(3).toList());
+
+            Assert.assertEquals(
+                    Arrays.asList(0, 1, 2),
+                    Seq.fromPublisher(publisher, 1).take(3).toList());
+        } finally {
+            executor.shutdown();
+        }
+
+        // One direct traversal plus three subscriptions, the two
+        // partial ones are cancelled when the subscribing streams get closed
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(4, closed.get());
+    }
+    
+    @Test
+    public void testMethodUsing() {
+        final AtomicInteger opened = new AtomicInteger(0);
+        final AtomicInteger closed = new AtomicInteger(0);
+
+        final Seq<Integer> seq = Seq.using(
+                () -> {
+                    opened.incrementAndGet();
+                    return () -> closed.incrementAndGet();
+                },
+                resource -> Seq.iterate(1, n -> n + 1));
+
+        Assert.assertEquals(Arrays.asList(1, 2, 3), seq.take(3).toList());
+        Assert.assertEquals(Optional.of(1), seq.findFirst());
+        Assert.assertTrue(seq.anyMatch(n -> n > 10));
+
+        try {
+            seq.forEach(n -> {
+                if (n == 5) {
+                    throw new IllegalStateException();
+                }
+            });
+
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+
+        Assert.assertEquals(4, opened.get());
+        Assert.assertEquals(4, closed.get());
+    }
+    
+    @Test
+    public void testMethodPrefetch() {
+        final AtomicInteger closed = new AtomicInteger(0);
+        final Seq<Integer> source = () -> IntStream.range(0, 10000).boxed().onClose(() -> closed.incrementAndGet());
+
+        Assert.assertEquals(source.toList(), source.prefetch(16).toList());
+        Assert.assertEquals(Arrays.asList(0, 1, 2), source.prefetch(1).take(3).toList());
+        Assert.assertEquals(Optional.of(5000), source.prefetch(64).filter(n -> n >= 5000).findFirst());
+        Assert.assertEquals(10000L, source.prefetch(3).map(n -> n * 2).count());
+        Assert.assertEquals(5L, Seq.iterate(0, n -> n + 1).prefetch(8).take(5).count());
+        Assert.assertEquals(5, closed.get());
+
+        try {
+            source.map(n -> {
+                if (n == 100) {
+                    throw new IllegalStateException("upstream");
+                }
+
+                return n;
+            }).prefetch(8).forEach(n -> { });
+
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("upstream", e.getMessage());
+        }
+
+        try {
+            source.prefetch(8).forEach(n -> {
+                if (n == 100) {
+                    throw new IllegalStateException("downstream");
+                }
+            });
+
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("downstream", e.getMessage());
+        }
+
+        Assert.assertEquals(7, closed.get());
+
+        // A consumer waiting for a stalled producer can be interrupted, but
+        // the source is not closed before the producer has terminated
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger taken = new AtomicInteger(0);
+        final AtomicReference<Throwable> error = new AtomicReference<>(null);
+        final AtomicBoolean closedEarly = new AtomicBoolean(false);
+        final Seq<Integer> stalled = () -> Stream.of(1, 2).onClose(() -> closedEarly.set(release.getCount() > 0));
+
+        final Thread consumer = new Thread(() -> {
+            try {
+                stalled.map(n -> {
+                    while (n == 2 && release.getCount() > 0) {
+                        try {
+                            release.await();
+                        } catch (final InterruptedException e) {
+                            // keep on waiting
+                        }
+                    }
+
+                    return n;
+                }).prefetch(4).forEach(n -> { taken.incrementAndGet(); });
+            } catch (final RuntimeException e) {
+                error.set(e);
+            }
+        });
+
+        consumer.start();
+
+        try {
+            while (taken.get() == 0) {
+                Thread.sleep(1);
+            }
+
+            consumer.interrupt();
+            consumer.join(100);
+            Assert.assertTrue(consumer.isAlive());
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            release.countDown();
+        }
+
+        try {
+            consumer.join(10_000);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Assert.assertFalse(consumer.isAlive());
+        Assert.assertTrue(error.get() instanceof SeqCancellationException);
+        Assert.assertFalse(closedEarly.get());
+    }
+    
+    @Test
+    public void testMethodFanOut() {
+        final AtomicInteger opened = new AtomicInteger(0);
+
+        final Seq<Integer> source = () -> {
+            opened.incrementAndGet();
+            return IntStream.range(0, 10000).boxed();
+        };
+
+        final List<Integer> all = new ArrayList<>();
+        final AtomicInteger sum = new AtomicInteger(0);
+        final List<Integer> firstThree = new ArrayList<>();
+
+        source.fanOut(Arrays.asList(
+                seq -> seq.forEach(n -> { all.add(n); }),
+                seq -> sum.set(seq.reduce(0, (a, b) -> a + b)),
+                seq -> firstThree.addAll(seq.take(3).toList())));
+
+        Assert.assertEquals(1, opened.get());
+        Assert.assertEquals(source.toList(), all);
+        Assert.assertEquals(Seq.range(0, 10000).reduce(0, (a, b) -> a + b), Integer.valueOf(sum.get()));
+        Assert.assertEquals(Arrays.asList(0, 1, 2), firstThree);
+
+        try {
+            source.fanOut(1, null, Arrays.asList(
+                    seq -> seq.forEach(n -> { }),
+                    seq -> seq.forEach(n -> {
+                        if (n == 100) {
+                            throw new IllegalStateException("branch");
+                        }
+                    })));
+
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("branch", e.getMessage());
+        }
+
+        // The executor needs a free thread per branch, otherwise it fails fast
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final AtomicInteger count = new AtomicInteger(0);
+
+        try {
+            Seq.range(0, 1000).fanOut(4, executor, Arrays.asList(
+                    seq -> count.addAndGet((int) seq.count()),
+                    seq -> count.addAndGet((int) seq.count())));
+
+            Assert.assertEquals(2000, count.get());
+
+            Seq.range(0, 1000).fanOut(4, executor, Arrays.asList(
+                    seq -> count.addAndGet((int) seq.count()),
+                    seq -> count.addAndGet((int) seq.count()),
+                    seq -> count.addAndGet((int) seq.count())));
+
+            Assert.fail();
+        } catch (final RejectedExecutionException e) {
+            Assert.assertTrue(e.getMessage().contains("free thread"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    public void testMethodPartitionedParallel() {
+        final Seq<Integer> source = Seq.range(0, 10000);
+
+        final List<String> results = source
+                .partitionedParallel(n -> n % 10, 4, lane -> lane.map(n -> (n % 10) + ":" + n))
+                .toList();
+
+        Assert.assertEquals(10000, results.size());
+
+        // Per key the original order is kept
+        for (int i = 0; i < 10; ++i) {
+            final int key = i;
+
+            Assert.assertEquals(
+                    source.filter(n -> n % 10 == key).map(n -> key + ":" + n).toList(),
+                    Seq.from(results).filter(s -> s.startsWith(key + ":")).toList());
+        }
+
+        Assert.assertEquals(3L, Seq.iterate(0, n -> n + 1)
+                .partitionedParallel(n -> n, 2, lane -> lane)
+                .take(3)
+                .count());
+
+        try {
+            source.partitionedParallel(n -> n, 3, lane -> lane.map(n -> {
+                if (n == 500) {
+                    throw new IllegalStateException("lane");
+                }
+
+                return n;
+            })).forEach(n -> { });
+
+            Assert.fail();
+        } catch (final IllegalStateException e) {
+            Assert.assertEquals("lane", e.getMessage());
+        }
+
+        // The executor needs a free thread for the router and each lane,
+        // otherwise it fails fast
+        final ExecutorService executor = Executors.newFixedThreadPool(5);
+
+        try {
+            Assert.assertEquals(10000L, source.partitionedParallel(n -> n, 4, lane -> lane, executor).count());
+
+            source.partitionedParallel(n -> n, 5, lane -> lane, executor).count();
+
+            Assert.fail();
+        } catch (final RejectedExecutionException e) {
+            Assert.assertTrue(e.getMessage().contains("free thread"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,72 @@
+package org.jprelude.core.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StageMetricsTest {
+    @Test
+    public void testMetered() {
+        final List<StageMetrics> completed = new ArrayList<>();
+        
+        final long count = Seq.range(0, 100_000)
+                .parallel()
+                .metered("numbers", metrics -> completed.add(metrics))
+                .filter(n -> n % 2 == 0)
+                .count();
+        
+        Assert.assertEquals(50_000L, count);
+        Assert.assertEquals(1, completed.size());
+        Assert.assertEquals("numbers", completed.get(0).getStageName());
+        Assert.assertEquals(100_000L, completed.get(0).getElementCount());
+        Assert.assertTrue(completed.get(0).isCompleted());
+        Assert.assertTrue(completed.get(0).getThroughput() > 0);
+    }
+    
+    @Test
+    public void testMeteredShortCircuit() {
+        final List<StageMetrics> completed = new ArrayList<>();
+        final AtomicLong passed = new AtomicLong(0);
+        
+        // Splits stopped early must not lose their counts
+        Assert.assertTrue(Seq.range(0, 1_000_000)
+                .parallel()
+                .metered("short circuit", metrics -> completed.add(metrics))
+                .peek(n -> passed.incrementAndGet())
+                .anyMatch(n -> n == 500_000));
+        
+        Assert.assertEquals(1, completed.size());
+        Assert.assertEquals(passed.get(), completed.get(0).getElementCount());
+    }
+    
+    @Test
+    public void testMeteredSizedSource() throws InterruptedException {
+        final List<StageMetrics> completed = new ArrayList<>();
+        
+        // count() must not skip the traversal of a sized source
+        Assert.assertEquals(1000L, Seq.range(0, 1000).metered("sized", metrics -> completed.add(metrics)).count());
+        Assert.assertEquals(1000L, completed.get(0).getElementCount());
+        
+        // The wall time is measured from the start of the traversal
+        final Stream<Integer> stream = Seq.range(0, 3).metered("deferred", metrics -> completed.add(metrics)).stream();
+        
+        Thread.sleep(500);
+        stream.forEach(n -> { });
+        stream.close();
+        
+        Assert.assertEquals(2, completed.size());
+        Assert.assertTrue(completed.get(1).getWallNanos() < 500_000_000L);
+    }
+    
+    @Test
+    public void testJmxSink() throws Exception {
+        Seq.of(1, 2, 3).metered("jmx test").forEach(n -> { });
+        
+        Assert.assertEquals(3L, ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(JmxMetricsSink.objectName("jmx test"), "ElementCount"));
+    }
+}
@@ -1,12 +1,7 @@
 package org.jprelude.csv.base;
 
 import java.io.BufferedReader;
-import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.UncheckedIOException;
-import java.util.Iterator;
-import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiConsumer;
@@ -14,7 +9,6 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.csv.QuoteMode;
 import org.jprelude.core.io.TextReader;
 import org.jprelude.core.util.Seq;
@@ -83,80 +77,14 @@ public class CsvImporter<T> {
     public Seq<T> parse(final TextReader textReader) {
         Objects.requireNonNull(textReader);
         
-        final Seq<CsvRecord> records =  Seq.from(() ->  new Iterator<CsvRecord>() {
-            private boolean initialized = false;
-            private boolean completed = false;
-            private BufferedReader reader =  null;
-            private CSVParser parser = null;
-            private Iterator<CSVRecord> iterator = null;
+        final String uri = Objects.toString(textReader.getUri(), null);
 
-            @Override
-            public boolean hasNext() {
-                final boolean ret;
-
-                if (this.completed) {
-                    ret = false;
-                } else {
-                    try {
-                        if (!this.initialized) {
-                            this.reader = new BufferedReader(new InputStreamReader(textReader.newInputStream(), textReader.getCharset()));
-                            this.parser = new CSVParser(this.reader, CsvImporter.this.apacheCsvFormat);
-                            this.iterator = this.parser.iterator();
-                            this.initialized = true;
-                        }
-
-                        ret = this.iterator.hasNext();
-
-                        if (!ret) {
-                            this.completed = true;
-                            this.reader.close();
-                            this.parser.close();
-                        }
-                    } catch (final IOException e) {
-                        final RuntimeException re = new UncheckedIOException(e);
-                        
-                        try {
-                            this.close();
-                        } catch (final Throwable throwable) {
-                            re.addSuppressed(throwable);
-                        }
-                        
-                        throw re;
-                    }
-                }
-
-                return ret;
-            }
-
-            @Override
-            public CsvRecord next() {
-                final CsvRecord ret;
-
-                if (!this.hasNext()) {
-                    throw new NoSuchElementException();
-                } else {
-                    ret = new CsvRecord(this.iterator.next(), Objects.toString(textReader.getUri(), null));
-                }
-
-                return ret;
-            }
-
-            private void close() throws IOException {
-                final Reader theReader = this.reader;
-                final CSVParser theParser = this.parser;
-
-                this.completed = true;
-                this.reader = null;
-                this.parser = null;
-                this.iterator = null;
-
-                try {
-                    theReader.close();
-                } finally {
-                    theParser.close();
-                }
-            }
-        });
+        final Seq<CsvRecord> records = Seq.using(
+                () -> new BufferedReader(new InputStreamReader(
+                        textReader.newInputStream(), textReader.getCharset())),
+                reader -> Seq.using(
+                        () -> new CSVParser(reader, this.apacheCsvFormat),
+                        parser -> Seq.from(parser).map(rec -> new CsvRecord(rec, uri))));
         
         final Seq<T>  ret;
         